@@ -0,0 +1,88 @@
+package com.speakshire.homeworkservice.jmh;
+
+import com.speakshire.homeworkservice.domain.*;
+import com.speakshire.homeworkservice.repository.projection.AssignmentListItemRow;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Realistic payload shapes for the benchmarks: lesson-content refs with a handful of keys and nested lists
+final class Fixtures {
+
+  static final OffsetDateTime NOW = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+  private Fixtures() {}
+
+  static Map<String, Object> contentRef(int i) {
+    var ref = new LinkedHashMap<String, Object>();
+    ref.put("lessonId", UUID.randomUUID().toString());
+    ref.put("contentId", UUID.randomUUID().toString());
+    ref.put("kind", "video");
+    ref.put("url", "https://cdn.example.com/lessons/" + i + "/stream.m3u8");
+    ref.put("durationSec", 300 + i);
+    ref.put("title", "Lesson segment " + i);
+    ref.put("tags", List.of("listening", "b1", "travel"));
+    ref.put("captions", List.of(Map.of("lang", "en", "url", "https://cdn.example.com/lessons/" + i + "/en.vtt"),
+            Map.of("lang", "de", "url", "https://cdn.example.com/lessons/" + i + "/de.vtt")));
+    return ref;
+  }
+
+  static HomeworkAssignment assignment(int taskCount) {
+    var a = new HomeworkAssignment();
+    a.setId(UUID.randomUUID());
+    a.setTeacherId(UUID.randomUUID());
+    a.setStudentId(UUID.randomUUID());
+    a.setTitle("Unit 4 homework");
+    a.setInstructions("Watch the videos, then do the vocabulary drill.");
+    a.setDueAt(NOW.plusDays(3));
+    a.setCreatedAt(NOW.minusDays(1));
+    for (int i = taskCount; i >= 1; i--) {
+      var t = new HomeworkTask();
+      t.setId(UUID.randomUUID());
+      t.setOrdinal(i);
+      t.setType(HomeworkTaskType.VIDEO);
+      t.setSourceKind(SourceKind.LESSON_CONTENT);
+      t.setTitle("Task " + i);
+      t.setInstructions("Watch to the end");
+      t.setContentRef(contentRef(i));
+      t.setStatus(i % 3 == 0 ? HomeworkTaskStatus.COMPLETED : HomeworkTaskStatus.IN_PROGRESS);
+      t.setProgressPct(i % 3 == 0 ? 100 : 40);
+      t.setStartedAt(NOW.minusHours(5));
+      t.setMeta(Map.of("position", 120, "speed", 1.25));
+      a.addTask(t);
+    }
+    return a;
+  }
+
+  static List<AssignmentTaskRow> rows(HomeworkAssignment a) {
+    var rows = new ArrayList<AssignmentTaskRow>();
+    // query order
+    var tasks = a.getTasks().stream().sorted(Comparator.comparing(HomeworkTask::getOrdinal)).toList();
+    for (var t : tasks) {
+      rows.add(new AssignmentTaskRow(a.getId(), a.getTeacherId(), a.getStudentId(), a.getTitle(), a.getInstructions(),
+              a.getDueAt(), a.getCreatedAt(), t.getId(), t.getOrdinal(), t.getType(), t.getSourceKind(), t.getTitle(),
+              t.getInstructions(), t.getContentRef(), t.getStatus(), t.getProgressPct(), t.getStartedAt(),
+              t.getCompletedAt(), t.getMeta()));
+    }
+    return rows;
+  }
+
+  static List<AssignmentListItemRow> listItems(int count) {
+    var items = new ArrayList<AssignmentListItemRow>(count);
+    for (int i = 0; i < count; i++) {
+      int total = 3 + i % 5;
+      int completed = i % 4 == 0 ? total : i % total;
+      items.add(new AssignmentListItemRow(UUID.randomUUID(), "Homework " + i, UUID.randomUUID(),
+              NOW.minusDays(i % 7), i % 6 == 0 ? null : NOW.plusDays(i % 5 - 2), total, completed, 1,
+              i % 5 == 0, 100 * completed / total));
+    }
+    return items;
+  }
+}
@@ -0,0 +1,52 @@
+package com.speakshire.homeworkservice.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.mapper.AssignmentListItemMapper;
+import com.speakshire.homeworkservice.mapper.AssignmentMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/** Response serialisation, with the ObjectMapper set up like the application's (ISO dates). */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+  @Param({"5", "30"})
+  int taskCount;
+
+  private ObjectMapper objectMapper;
+  private AssignmentDto assignment;
+  private Page<AssignmentListItemDto> page;
+
+  @Setup
+  public void setup() {
+    objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    assignment = AssignmentMapper.toDto(Fixtures.assignment(taskCount));
+    page = new PageImpl<>(Fixtures.listItems(20).stream().map(AssignmentListItemMapper::fromProjection).toList(),
+            PageRequest.of(0, 20), 137);
+  }
+
+  @Benchmark
+  public byte[] assignmentDto() throws Exception {
+    return objectMapper.writeValueAsBytes(assignment);
+  }
+
+  @Benchmark
+  public byte[] listPage() throws Exception {
+    return objectMapper.writeValueAsBytes(page);
+  }
+}
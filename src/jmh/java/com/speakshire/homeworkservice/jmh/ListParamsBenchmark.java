@@ -0,0 +1,58 @@
+package com.speakshire.homeworkservice.jmh;
+
+import com.speakshire.homeworkservice.repository.AssignmentCursor;
+import com.speakshire.homeworkservice.repository.AssignmentListSort;
+import com.speakshire.homeworkservice.repository.AssignmentStatusFilter;
+import com.speakshire.homeworkservice.service.DateParams;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request parameter handling of the listing endpoints. Status filtering runs in SQL, so the Java side
+ * left to measure is resolving status/sort into query flags, the cursor round trip and from/to parsing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListParamsBenchmark {
+
+  private static final String[] STATUSES = {"active", "notFinished", "completed", "all"};
+  private static final String[] SORTS = {"assigned_desc", "assigned_asc", "due_asc", "due_desc"};
+
+  private String token;
+  private int i;
+
+  @Setup
+  public void setup() {
+    token = new AssignmentCursor(AssignmentListSort.DUE_ASC, Fixtures.NOW, UUID.randomUUID()).encode();
+  }
+
+  @Benchmark
+  public void statusAndSort(Blackhole bh) {
+    int n = i++ & 3;
+    bh.consume(AssignmentStatusFilter.of(STATUSES[n], n % 2 == 0, n > 1));
+    bh.consume(AssignmentListSort.of(SORTS[n]).toSort());
+  }
+
+  @Benchmark
+  public AssignmentCursor cursorRoundTrip() {
+    return AssignmentCursor.decode(token, AssignmentListSort.DUE_ASC);
+  }
+
+  @Benchmark
+  public OffsetDateTime parseDate() {
+    return DateParams.parseFromDateOrDateTime("2026-03-01", true);
+  }
+
+  @Benchmark
+  public OffsetDateTime parseDateTime() {
+    return DateParams.parseFromDateOrDateTime("2026-03-01T10:15:30+02:00", false);
+  }
+}
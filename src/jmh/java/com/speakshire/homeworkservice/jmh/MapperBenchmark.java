@@ -0,0 +1,59 @@
+package com.speakshire.homeworkservice.jmh;
+
+import com.speakshire.homeworkservice.domain.HomeworkAssignment;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.mapper.AssignmentListItemMapper;
+import com.speakshire.homeworkservice.mapper.AssignmentMapper;
+import com.speakshire.homeworkservice.repository.projection.AssignmentListItemRow;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Entity and projection to DTO mapping on the getById, progress and listing paths. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+  @Param({"5", "30"})
+  int taskCount;
+
+  private HomeworkAssignment assignment;
+  private List<AssignmentTaskRow> rows;
+  private List<AssignmentListItemRow> listItems;
+
+  @Setup
+  public void setup() {
+    assignment = Fixtures.assignment(taskCount);
+    rows = Fixtures.rows(assignment);
+    listItems = Fixtures.listItems(20);
+  }
+
+  // progress/start/complete responses
+  @Benchmark
+  public AssignmentDto toDto() {
+    return AssignmentMapper.toDto(assignment);
+  }
+
+  // getById
+  @Benchmark
+  public AssignmentDto fromRows() {
+    return AssignmentMapper.fromRows(rows);
+  }
+
+  // one listing page of 20 items
+  @Benchmark
+  public void fromProjectionPage(Blackhole bh) {
+    for (var item : listItems) {
+      AssignmentListItemDto dto = AssignmentListItemMapper.fromProjection(item);
+      bh.consume(dto);
+    }
+  }
+}
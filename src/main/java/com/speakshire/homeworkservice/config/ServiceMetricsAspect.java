@@ -0,0 +1,98 @@
+package com.speakshire.homeworkservice.config;
+
+import com.speakshire.homeworkservice.repository.AssignmentListSort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Times every public {@code HomeworkService} and {@code TaskProgressService} method as {@code homework.service},
+ * tagged by class, method, listing status, sort, response view and exception. Runs outside the transaction
+ * advice so commit time is included. Status and sort are normalised to the values the service resolves them to,
+ * so arbitrary query strings cannot create new series.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+  static final String NONE = "none";
+
+  private static final Set<String> STATUSES = Set.of("active", "notFinished", "completed", "all");
+
+  private static final Map<String, String> VIEWS = Map.ofEntries(
+          Map.entry("listStudentAssignments", "page"),
+          Map.entry("listTutorAssignments", "page"),
+          Map.entry("seekStudentAssignments", "seek"),
+          Map.entry("seekTutorAssignments", "seek"),
+          Map.entry("listStudentArchive", "archive"),
+          Map.entry("listTutorArchive", "archive"),
+          Map.entry("countStudentAssignments", "counts"),
+          Map.entry("getById", "full"),
+          Map.entry("getByIds", "full"),
+          Map.entry("start", "full"),
+          Map.entry("progress", "full"),
+          Map.entry("complete", "full"),
+          Map.entry("progressDelta", "delta"),
+          Map.entry("progressBuffered", "buffered"));
+
+  private final MeterRegistry meterRegistry;
+
+  @Around("execution(public * com.speakshire.homeworkservice.service.HomeworkService.*(..)) || " +
+          "execution(public * com.speakshire.homeworkservice.service.TaskProgressService.*(..))")
+  public Object time(ProceedingJoinPoint pjp) throws Throwable {
+    var signature = (MethodSignature) pjp.getSignature();
+    var sample = Timer.start(meterRegistry);
+    String exception = NONE;
+    try {
+      return pjp.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      String method = signature.getName();
+      String[] names = signature.getParameterNames();
+      Object[] args = pjp.getArgs();
+      sample.stop(Timer.builder("homework.service")
+              .description("Service method latency, including the transaction commit")
+              .tag("class", signature.getDeclaringType().getSimpleName())
+              .tag("method", method)
+              .tag("status", status(names, args))
+              .tag("sort", sort(names, args))
+              .tag("view", VIEWS.getOrDefault(method, NONE))
+              .tag("exception", exception)
+              .register(meterRegistry));
+    }
+  }
+
+  private static String status(String[] names, Object[] args) {
+    int i = indexOf(names, "status");
+    if (i < 0) return NONE;
+    return args[i] instanceof String s && STATUSES.contains(s) ? s : "active";
+  }
+
+  private static String sort(String[] names, Object[] args) {
+    int i = indexOf(names, "sort");
+    if (i < 0) return NONE;
+    return AssignmentListSort.of((String) args[i]).name().toLowerCase();
+  }
+
+  private static int indexOf(String[] names, String name) {
+    if (names == null) return -1;
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) return i;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,26 @@
+package com.speakshire.homeworkservice.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the JDBC statements Hibernate prepares on the current thread while a count is open
+final class StatementCounter implements StatementInspector {
+
+  private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+
+  static void begin() {
+    CURRENT.set(new int[1]);
+  }
+
+  static int end() {
+    var count = CURRENT.get();
+    CURRENT.remove();
+    return count == null ? 0 : count[0];
+  }
+
+  @Override
+  public String inspect(String sql) {
+    var count = CURRENT.get();
+    if (count != null) count[0]++;
+    return sql;
+  }
+}
@@ -0,0 +1,56 @@
+package com.speakshire.homeworkservice.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many JDBC statements each HTTP request prepared, as the {@code homework.request.statements}
+ * distribution tagged by HTTP method and URI template. A Hibernate statement inspector counts per thread while
+ * the filter holds a count open, so work outside requests (sweeper, relay, Kafka listeners) is not counted.
+ */
+@Configuration
+@ConditionalOnProperty(name = "homework.metrics.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementMetricsConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer statementCountingInspector() {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+  }
+
+  @Bean
+  public OncePerRequestFilter statementCountFilter(MeterRegistry meterRegistry) {
+    return new OncePerRequestFilter() {
+      @Override
+      protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+              throws ServletException, IOException {
+        StatementCounter.begin();
+        try {
+          chain.doFilter(request, response);
+        } finally {
+          int statements = StatementCounter.end();
+          var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+          DistributionSummary.builder("homework.request.statements")
+                  .description("JDBC statements prepared per request")
+                  .baseUnit("statements")
+                  .tag("method", request.getMethod())
+                  .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                  .register(meterRegistry)
+                  .record(statements);
+        }
+      }
+    };
+  }
+}
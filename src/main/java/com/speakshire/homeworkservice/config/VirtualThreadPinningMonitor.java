@@ -0,0 +1,77 @@
+package com.speakshire.homeworkservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events while the service runs in virtual-thread mode. Each pin
+ * longer than the threshold is recorded in the {@code homework.virtual_threads.pinned} timer and logged with its
+ * stack, which points at the {@code synchronized} block or native frame that held the carrier thread.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "homework.diagnostics.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private final Timer pinned;
+  private final Duration threshold;
+  private final int stackDepth;
+  private volatile RecordingStream stream;
+
+  public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                     @Value("${homework.diagnostics.pinning.threshold:PT0.02S}") Duration threshold,
+                                     @Value("${homework.diagnostics.pinning.stack-depth:12}") int stackDepth) {
+    this.pinned = Timer.builder("homework.virtual_threads.pinned")
+            .description("Time virtual threads spent pinned to their carrier")
+            .register(meterRegistry);
+    this.threshold = threshold;
+    this.stackDepth = stackDepth;
+  }
+
+  @Override
+  public void start() {
+    var rs = new RecordingStream();
+    rs.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    rs.onEvent(PINNED_EVENT, this::onPinned);
+    rs.startAsync();
+    stream = rs;
+  }
+
+  private void onPinned(RecordedEvent event) {
+    pinned.record(event.getDuration());
+    var stack = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+            .limit(stackDepth)
+            .map(VirtualThreadPinningMonitor::frame)
+            .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+    log.warn("Virtual thread pinned for {} ms{}", event.getDuration().toMillis(), stack);
+  }
+
+  private static String frame(RecordedFrame f) {
+    return f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber();
+  }
+
+  @Override
+  public void stop() {
+    var rs = stream;
+    stream = null;
+    if (rs != null) rs.close();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+}
@@ -1,20 +1,36 @@
 package com.speakshire.homeworkservice.controller;
 
+import com.speakshire.homeworkservice.dto.AssignmentBatchDto;
 import com.speakshire.homeworkservice.dto.AssignmentDto;
 import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.dto.BulkAssignmentResultDto;
+import com.speakshire.homeworkservice.dto.BulkCreateAssignmentDto;
 import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CursorPageDto;
+import com.speakshire.homeworkservice.exception.TooManyRequestsException;
+import com.speakshire.homeworkservice.service.AssignmentExporter;
 import com.speakshire.homeworkservice.service.HomeworkService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/homeworks")
@@ -22,6 +38,7 @@ import java.util.UUID;
 public class HomeworkController {
 
   private final HomeworkService homeworkService;
+  private final AssignmentExporter exporter;
 
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
@@ -30,6 +47,12 @@ public class HomeworkController {
     return homeworkService.createAssignment(teacherId, body);
   }
 
+  @PostMapping("/bulk")
+  public List<BulkAssignmentResultDto> createBulk(@RequestParam UUID teacherId,
+                                                  @Valid @RequestBody BulkCreateAssignmentDto body) {
+    return homeworkService.createAssignmentsBulk(teacherId, body);
+  }
+
   // Extended student endpoint: preserves old behavior (full) when view param is absent
   @GetMapping("student/{studentId}")
   public Page<AssignmentListItemDto> myAssignments(@PathVariable UUID studentId,
@@ -59,6 +82,34 @@ public class HomeworkController {
     );
   }
 
+  // Keyset mode: opt in by passing cursor (empty for the first page); no total is computed
+  @GetMapping(value = "student/{studentId}", params = "cursor")
+  public CursorPageDto<AssignmentListItemDto> myAssignmentsSeek(@PathVariable UUID studentId,
+                                                                @RequestParam(required = false) String status,
+                                                                @RequestParam(required = false) String from,
+                                                                @RequestParam(required = false) String to,
+                                                                @RequestParam(required = false) Boolean includeOverdue,
+                                                                @RequestParam(required = false) Boolean hideCompleted,
+                                                                @RequestParam(required = false) String sort,
+                                                                @RequestParam String cursor,
+                                                                @RequestParam(defaultValue = "20") int size) {
+    boolean includeOverdueVal = includeOverdue == null || includeOverdue;
+    String statusVal = (status == null || status.isBlank()) ? "active" : status;
+    boolean hideCompletedVal = hideCompleted == null ? "active".equals(statusVal) : hideCompleted;
+
+    return homeworkService.seekStudentAssignments(
+            studentId,
+            statusVal,
+            from,
+            to,
+            includeOverdueVal,
+            hideCompletedVal,
+            sort,
+            cursor,
+            size
+    );
+  }
+
   @GetMapping("student/{studentId}/counts")
   public Map<String, Long> myAssignmentsCounts(@PathVariable UUID studentId,
                                                @RequestParam(required = false) String from,
@@ -68,11 +119,23 @@ public class HomeworkController {
     return homeworkService.countStudentAssignments(studentId, from, to, includeOverdueVal);
   }
 
+  // Assignments moved out of the hot tables by the archiver; the listings above only cover recent ones
+  @GetMapping("student/{studentId}/archive")
+  public Page<AssignmentListItemDto> myArchivedAssignments(@PathVariable UUID studentId, Pageable pageable) {
+    return homeworkService.listStudentArchive(studentId, pageable);
+  }
+
   @GetMapping("/{id}")
   public AssignmentDto getAssignmentById(@PathVariable UUID id) {
     return homeworkService.getById(id);
   }
 
+  // Multi-get: GET /api/homeworks?ids=a,b,c; unknown ids are listed in "missing" instead of failing the call
+  @GetMapping(params = "ids")
+  public AssignmentBatchDto getAssignmentsByIds(@RequestParam List<UUID> ids) {
+    return homeworkService.getByIds(ids);
+  }
+
   @DeleteMapping("/{assignmentId}")
   public ResponseEntity<?> deleteAssignment(@PathVariable UUID assignmentId) {
     homeworkService.deleteAssignment(assignmentId);
@@ -108,4 +171,81 @@ public class HomeworkController {
             pageable
     );
   }
-}
\ No newline at end of file
+
+  @GetMapping("/tutor/{tutorId}/archive")
+  public Page<AssignmentListItemDto> tutorArchivedAssignments(@PathVariable UUID tutorId,
+                                                              @RequestParam(required = false) UUID studentId,
+                                                              Pageable pageable) {
+    return homeworkService.listTutorArchive(tutorId, Optional.ofNullable(studentId), pageable);
+  }
+
+  // Whole history with tasks and progress, streamed as it is read; gzip=true compresses on the fly
+  @GetMapping("/tutor/{tutorId}/export")
+  public ResponseEntity<StreamingResponseBody> exportTutorAssignments(@PathVariable UUID tutorId,
+                                                                      @RequestParam(required = false) UUID studentId,
+                                                                      @RequestParam(defaultValue = "ndjson") String format,
+                                                                      @RequestParam(defaultValue = "true") boolean includeArchived,
+                                                                      @RequestParam(defaultValue = "false") boolean gzip,
+                                                                      HttpServletRequest request) {
+    var formatVal = AssignmentExporter.Format.of(format);
+    var slot = exporter.tryReserve()
+            .orElseThrow(() -> new TooManyRequestsException("Too many exports running, retry later"));
+    var asyncManager = WebAsyncUtils.getAsyncManager(request);
+    // scoped to this response; other async requests keep the container default
+    asyncManager.getAsyncWebRequest().setTimeout(exporter.timeout().toMillis());
+    // the body closes its slot, but it never runs if the request times out or fails before it is scheduled
+    asyncManager.registerCallableInterceptor(slot, new CallableProcessingInterceptor() {
+      @Override
+      public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+        slot.abandon();
+      }
+    });
+    StreamingResponseBody body = out -> {
+      if (!slot.start()) return;
+      try (slot) {
+        if (!gzip) {
+          exporter.export(tutorId, Optional.ofNullable(studentId), formatVal, includeArchived, out);
+          return;
+        }
+        var zipped = new GZIPOutputStream(out, 64 * 1024);
+        exporter.export(tutorId, Optional.ofNullable(studentId), formatVal, includeArchived, zipped);
+        zipped.finish();
+      }
+    };
+    var response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formatVal.contentType))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                    "attachment; filename=\"homework-" + tutorId + "." + formatVal.extension + "\"");
+    if (gzip) response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    return response.body(body);
+  }
+
+  @GetMapping(value = "/tutor/{tutorId}", params = "cursor")
+  public CursorPageDto<AssignmentListItemDto> tutorAssignmentsSeek(@PathVariable UUID tutorId,
+                                                                   @RequestParam(required = false) UUID studentId,
+                                                                   @RequestParam(required = false) String status,
+                                                                   @RequestParam(required = false) String from,
+                                                                   @RequestParam(required = false) String to,
+                                                                   @RequestParam(required = false) Boolean includeOverdue,
+                                                                   @RequestParam(required = false) Boolean hideCompleted,
+                                                                   @RequestParam(required = false) String sort,
+                                                                   @RequestParam String cursor,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+    boolean includeOverdueVal = includeOverdue == null || includeOverdue;
+    String statusVal = (status == null || status.isBlank()) ? "active" : status;
+    boolean hideCompletedVal = hideCompleted == null ? "active".equals(statusVal) : hideCompleted;
+
+    return homeworkService.seekTutorAssignments(
+            tutorId,
+            Optional.ofNullable(studentId),
+            statusVal,
+            from,
+            to,
+            includeOverdueVal,
+            hideCompletedVal,
+            sort,
+            cursor,
+            size
+    );
+  }
+}
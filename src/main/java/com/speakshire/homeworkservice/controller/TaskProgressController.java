@@ -2,9 +2,12 @@ package com.speakshire.homeworkservice.controller;
 
 import com.speakshire.homeworkservice.dto.AssignmentDto;
 import com.speakshire.homeworkservice.dto.ProgressDto;
+import com.speakshire.homeworkservice.dto.TaskProgressDeltaDto;
+import com.speakshire.homeworkservice.exception.BadRequestException;
 import com.speakshire.homeworkservice.service.TaskProgressService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -29,6 +32,28 @@ public class TaskProgressController {
     return progressService.progress(taskId, studentId, body);
   }
 
+  @PostMapping(value = "/{taskId}/progress", params = "view=delta")
+  public TaskProgressDeltaDto progressDelta(@PathVariable UUID taskId,
+                                            @RequestParam UUID studentId,
+                                            @Valid @RequestBody ProgressDto body) {
+    return progressService.progressDelta(taskId, studentId, body);
+  }
+
+  // Fire-and-forget heartbeat; buffered when write-behind is enabled
+  @PostMapping(value = "/{taskId}/progress", params = "buffered=true")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public void progressBuffered(@PathVariable UUID taskId,
+                               @RequestParam UUID studentId,
+                               @Valid @RequestBody ProgressDto body) {
+    progressService.progressBuffered(taskId, studentId, body);
+  }
+
+  // More specific than either mapping above, so the combination is a 400 instead of an ambiguous-handler 500
+  @PostMapping(value = "/{taskId}/progress", params = {"view=delta", "buffered=true"})
+  public void progressBufferedDelta(@PathVariable UUID taskId) {
+    throw new BadRequestException("view=delta and buffered=true cannot be combined: buffered writes return no body");
+  }
+
   @PostMapping("/{taskId}/complete")
   public AssignmentDto complete(@PathVariable UUID taskId,
                                 @RequestParam UUID studentId,
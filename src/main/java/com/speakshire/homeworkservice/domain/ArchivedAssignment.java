@@ -0,0 +1,87 @@
+package com.speakshire.homeworkservice.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// Completed assignment moved out of the hot tables by AssignmentArchiver: the columns the history listings filter
+// and sort on, plus the rest of the assignment as a versioned JSON document. Keeps the id it had in homework_assignments.
+@Getter @Setter
+@Entity
+@Immutable
+@Table(name = "homework_assignments_archive",
+        indexes = {
+                @Index(name = "idx_hw_archive_student_created", columnList = "student_id,created_at"),
+                @Index(name = "idx_hw_archive_teacher_created", columnList = "teacher_id,created_at"),
+                @Index(name = "idx_hw_archive_idem", columnList = "teacher_id,idempotency_key")
+        }
+)
+public class ArchivedAssignment implements Persistable<UUID> {
+
+  @Id
+  private UUID id;
+
+  @Column(name = "teacher_id", nullable = false)
+  private UUID teacherId;
+
+  @Column(name = "student_id", nullable = false)
+  private UUID studentId;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column(name = "due_at")
+  private OffsetDateTime dueAt;
+
+  @Column(name = "lesson_id")
+  private UUID lessonId;
+
+  // Still answers creates that retry with the key after the assignment was archived
+  @Column(name = "idempotency_key")
+  private String idempotencyKey;
+
+  @Column(name = "created_at", nullable = false)
+  private OffsetDateTime createdAt;
+
+  @Column(name = "total_tasks", nullable = false)
+  private int totalTasks;
+
+  @Column(name = "archived_at", nullable = false)
+  private OffsetDateTime archivedAt;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "document", columnDefinition = "jsonb", nullable = false)
+  private ArchivedAssignmentDocument document;
+
+  // Not part of the API view, kept so nothing is lost by archiving
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "vocab_words", columnDefinition = "jsonb", nullable = false)
+  private List<VocabWord> vocabWords = List.of();
+
+  // The id is assigned, not generated: without this save() would merge, i.e. select before every insert
+  @Transient
+  @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+  private boolean persisted;
+
+  @Override
+  public boolean isNew() {
+    return !persisted;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markPersisted() {
+    persisted = true;
+  }
+
+  public record VocabWord(UUID taskId, UUID wordId, boolean learned) {}
+}
@@ -0,0 +1,38 @@
+package com.speakshire.homeworkservice.domain;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JSON document of an archived assignment: what the archive columns do not already hold. Versioned on its own,
+ * so the API DTOs can change without rewriting archived rows; bump {@link #CURRENT_VERSION} and keep reading
+ * older versions when the layout changes. Every document carries its version, so one without is rejected.
+ */
+public record ArchivedAssignmentDocument(@JsonProperty(required = true) int version,
+                                         String instructions, List<Task> tasks) {
+
+  public static final int CURRENT_VERSION = 1;
+
+  public ArchivedAssignmentDocument {
+    if (version < 1 || version > CURRENT_VERSION) {
+      throw new IllegalArgumentException("Unsupported archived assignment document version " + version);
+    }
+    if (tasks == null) tasks = List.of();
+  }
+
+  public ArchivedAssignmentDocument(String instructions, List<Task> tasks) {
+    this(CURRENT_VERSION, instructions, tasks);
+  }
+
+  public record Task(UUID id, Integer ordinal,
+                     HomeworkTaskType type, SourceKind sourceKind,
+                     String title, String instructions,
+                     Map<String, Object> contentRef,
+                     HomeworkTaskStatus status, Integer progressPct,
+                     OffsetDateTime startedAt, OffsetDateTime completedAt,
+                     Map<String, Object> meta) {}
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
@@ -16,18 +17,16 @@ import java.util.UUID;
 
 @Getter @Setter
 @Entity
+// Indexes are not declared here: the changelog owns them, and on PostgreSQL 002-list-query-indexes replaces
+// the portable ones with covering and partial indexes an @Index cannot express
 @Table(name = "homework_assignments",
         uniqueConstraints = @UniqueConstraint(name = "uk_assignment_idem",
-                columnNames = {"teacher_id","student_id","idempotency_key"}),
-        indexes = {
-                @Index(name = "idx_hw_assign_student", columnList = "student_id,due_at"),
-                @Index(name = "idx_hw_assign_teacher", columnList = "teacher_id,created_at")
-        }
+                columnNames = {"teacher_id","student_id","idempotency_key"})
 )
 public class HomeworkAssignment {
 
   @Id
-  @UuidGenerator
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   private UUID id;
 
   @Column(name = "teacher_id", nullable = false)
@@ -59,6 +58,29 @@ public class HomeworkAssignment {
   @Column(name = "updated_at", nullable = false)
   private OffsetDateTime updatedAt;
 
+  // Task aggregates used by listings and counts. Maintained with relative updates
+  // (HomeworkAssignmentRepository#applyTaskDelta), so entity flushes never write them back.
+  @Column(name = "total_tasks", nullable = false, updatable = false)
+  @ColumnDefault("0")
+  private Integer totalTasks = 0;
+
+  @Column(name = "completed_tasks", nullable = false, updatable = false)
+  @ColumnDefault("0")
+  private Integer completedTasks = 0;
+
+  @Column(name = "in_progress_tasks", nullable = false, updatable = false)
+  @ColumnDefault("0")
+  private Integer inProgressTasks = 0;
+
+  @Column(name = "progress_sum", nullable = false, updatable = false)
+  @ColumnDefault("0")
+  private Integer progressSum = 0;
+
+  // Set once the due time has passed, at insert or by OverdueSweeper; overdue = past due and not completed
+  @Column(name = "past_due", nullable = false, updatable = false)
+  @ColumnDefault("false")
+  private Boolean pastDue = false;
+
   @OneToMany(mappedBy = "assignment", cascade = CascadeType.ALL, orphanRemoval = true)
   @OrderBy("ordinal ASC")
   @ToString.Exclude @EqualsAndHashCode.Exclude
@@ -68,4 +90,13 @@ public class HomeworkAssignment {
     t.setAssignment(this);
     tasks.add(t);
   }
+
+  @PrePersist
+  void initDerivedState() {
+    pastDue = dueAt != null && dueAt.isBefore(OffsetDateTime.now());
+    totalTasks = tasks.size();
+    completedTasks = (int) tasks.stream().filter(t -> t.getStatus() == HomeworkTaskStatus.COMPLETED).count();
+    inProgressTasks = (int) tasks.stream().filter(t -> t.getStatus() == HomeworkTaskStatus.IN_PROGRESS).count();
+    progressSum = tasks.stream().mapToInt(HomeworkTask::getProgressPct).sum();
+  }
 }
@@ -0,0 +1,3 @@
+package com.speakshire.homeworkservice.domain;
+
+public enum HomeworkEventType { ASSIGNMENT_CREATED, ASSIGNMENT_DELETED, ASSIGNMENT_OVERDUE, TASK_STARTED, TASK_COMPLETED }
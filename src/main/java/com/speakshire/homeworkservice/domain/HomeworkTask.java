@@ -25,7 +25,7 @@ import java.util.*;
 public class HomeworkTask {
 
   @Id
-  @UuidGenerator
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -91,4 +91,21 @@ public class HomeworkTask {
     row.setLearned(false);
     vocabWords.add(row);
   }
-}
\ No newline at end of file
+
+  // Progress pings only move forward: the task leaves NOT_STARTED, progressPct never decreases and meta keys merge
+  public void applyProgress(Integer pct, Map<String, Object> patch) {
+    if (status == HomeworkTaskStatus.NOT_STARTED) {
+      status = HomeworkTaskStatus.IN_PROGRESS;
+      startedAt = OffsetDateTime.now();
+    }
+    if (pct != null) {
+      progressPct = Math.max(progressPct, Math.min(100, Math.max(0, pct)));
+    }
+    if (patch != null && !patch.isEmpty()) {
+      var merged = new HashMap<String, Object>();
+      if (meta != null) merged.putAll(meta);
+      merged.putAll(patch);
+      meta = merged;
+    }
+  }
+}
@@ -21,7 +21,7 @@ import java.util.UUID;
 public class HomeworkTaskVocabWord {
 
   @Id
-  @UuidGenerator
+  @UuidGenerator(algorithm = UuidV7Generator.class)
   private UUID id;
 
   @ManyToOne(fetch = FetchType.LAZY, optional = false)
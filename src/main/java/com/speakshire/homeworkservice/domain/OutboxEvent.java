@@ -0,0 +1,48 @@
+package com.speakshire.homeworkservice.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// Homework lifecycle event written in the business transaction and relayed to Kafka afterwards.
+// Insert-only: immutable so the JSON payload never takes part in dirty checking.
+@Getter @Setter
+@Entity
+@Immutable
+@Table(name = "homework_outbox",
+        indexes = @Index(name = "idx_hw_outbox_created", columnList = "created_at")
+)
+public class OutboxEvent {
+
+  @Id
+  @UuidGenerator(algorithm = UuidV7Generator.class)
+  private UUID id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "event_type", nullable = false)
+  private HomeworkEventType type;
+
+  @Column(name = "assignment_id", nullable = false)
+  private UUID assignmentId;
+
+  // Kafka message key, keeps a student's events ordered within a partition
+  @Column(name = "student_id", nullable = false)
+  private UUID studentId;
+
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "payload", columnDefinition = "jsonb", nullable = false)
+  private Map<String, Object> payload = Map.of();
+
+  @CreationTimestamp
+  @Column(name = "created_at", nullable = false, updatable = false)
+  private OffsetDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.speakshire.homeworkservice.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+// Read model for the student counts badge, maintained incrementally by the assignment and task writers and the
+// overdue sweeper: the two counters of the endpoint that do not depend on the requested window
+@Getter @Setter
+@Entity
+@Table(name = "student_assignment_counts")
+public class StudentAssignmentCounts {
+
+  @Id
+  @Column(name = "student_id")
+  private UUID studentId;
+
+  @Column(name = "not_finished", nullable = false)
+  private int notFinished;
+
+  // Not finished and flagged past due
+  @Column(name = "overdue", nullable = false)
+  private int overdue;
+}
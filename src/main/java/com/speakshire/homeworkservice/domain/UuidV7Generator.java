@@ -0,0 +1,37 @@
+package com.speakshire.homeworkservice.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (RFC 9562 version 7) for primary keys: 48 bits of Unix milliseconds, then a 12-bit
+ * sequence in place of rand_a, then 62 random bits. New keys land at the right edge of the B-tree
+ * instead of on a random leaf, so inserts touch few, hot pages and indexes stay dense.
+ * <p>
+ * Keys from one JVM are strictly increasing: the sequence counts up within a millisecond and, once it
+ * runs out, borrows from the next millisecond. Lock-free, so virtual threads never pin on it.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+  // unix millis << 12 | sequence of the last key handed out
+  private static final AtomicLong LAST = new AtomicLong();
+
+  @Override
+  public UUID generateUuid(SharedSessionContractImplementor session) {
+    return next();
+  }
+
+  public static UUID next() {
+    long now = System.currentTimeMillis() << 12;
+    long stamp = LAST.updateAndGet(prev -> Math.max(prev + 1, now));
+    long millis = stamp >>> 12;
+    long sequence = stamp & 0xFFF;
+    long msb = (millis << 16) | 0x7000L | sequence;
+    long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+}
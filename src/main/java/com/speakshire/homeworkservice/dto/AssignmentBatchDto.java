@@ -0,0 +1,10 @@
+package com.speakshire.homeworkservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// Multi-get result: found assignments in request order, unknown ids (hot and archived) in missing
+public record AssignmentBatchDto(
+        List<AssignmentDto> assignments,
+        List<UUID> missing
+) {}
@@ -0,0 +1,17 @@
+package com.speakshire.homeworkservice.dto;
+
+import java.util.UUID;
+
+public record BulkAssignmentResultDto(
+        UUID studentId,
+        String idempotencyKey,
+        UUID assignmentId,
+        Status status,
+        String error
+) {
+  public enum Status { CREATED, EXISTING, FAILED }
+
+  // Stable error codes for FAILED items; details stay in the service log
+  public static final String CONSTRAINT_VIOLATION = "CONSTRAINT_VIOLATION";
+  public static final String INTERNAL_ERROR = "INTERNAL_ERROR";
+}
@@ -0,0 +1,20 @@
+package com.speakshire.homeworkservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// One assignment template fanned out to many students, each with its own idempotency key
+public record BulkCreateAssignmentDto(
+        @NotBlank String title,
+        String instructions,
+        OffsetDateTime dueAt,
+        UUID lessonId,
+        @NotEmpty List<@Valid CreateTaskDto> tasks,
+        @NotEmpty @Size(max = 200) List<@Valid BulkRecipientDto> recipients
+) {}
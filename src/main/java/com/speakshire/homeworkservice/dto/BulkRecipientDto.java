@@ -0,0 +1,10 @@
+package com.speakshire.homeworkservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record BulkRecipientDto(
+        @NotNull UUID studentId,
+        String idempotencyKey
+) {}
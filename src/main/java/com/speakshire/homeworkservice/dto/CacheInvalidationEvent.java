@@ -0,0 +1,10 @@
+package com.speakshire.homeworkservice.dto;
+
+import java.util.UUID;
+
+// Broadcast between replicas; assignmentId is null for student-scoped invalidations
+public record CacheInvalidationEvent(
+        String origin,
+        UUID studentId,
+        UUID assignmentId
+) {}
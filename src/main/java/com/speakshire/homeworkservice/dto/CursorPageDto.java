@@ -0,0 +1,8 @@
+package com.speakshire.homeworkservice.dto;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> items,
+        String nextCursor
+) {}
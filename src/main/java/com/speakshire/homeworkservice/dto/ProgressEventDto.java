@@ -0,0 +1,12 @@
+package com.speakshire.homeworkservice.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+// Progress ping published by the player service on the homework.progress topic
+public record ProgressEventDto(
+        UUID taskId,
+        UUID studentId,
+        Integer progressPct,
+        Map<String, Object> meta
+) {}
@@ -0,0 +1,14 @@
+package com.speakshire.homeworkservice.dto;
+
+import java.util.UUID;
+
+// Compact progress response: the updated task plus the assignment-level counters
+public record TaskProgressDeltaDto(
+        UUID assignmentId,
+        TaskDto task,
+        int totalTasks,
+        int completedTasks,
+        int inProgressTasks,
+        int progressPct,
+        boolean completed
+) {}
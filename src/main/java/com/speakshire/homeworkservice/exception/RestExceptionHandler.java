@@ -26,6 +26,11 @@ public class RestExceptionHandler {
     return ResponseEntity.badRequest().body(err("BAD_REQUEST", e.getMessage()));
   }
 
+  @ExceptionHandler(TooManyRequestsException.class)
+  ResponseEntity<?> tmr(TooManyRequestsException e){
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(err("TOO_MANY_REQUESTS", e.getMessage()));
+  }
+
   private Map<String,Object> err(String code, String msg){
     return Map.of("timestamp", Instant.now().toString(), "code", code, "message", msg);
   }
@@ -3,17 +3,16 @@ package com.speakshire.homeworkservice.mapper;
 import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
 import com.speakshire.homeworkservice.repository.projection.AssignmentListItemProjection;
 
-import java.time.OffsetDateTime;
-
 public class AssignmentListItemMapper {
 
-    public static AssignmentListItemDto fromProjection(AssignmentListItemProjection p, OffsetDateTime now) {
+    public static AssignmentListItemDto fromProjection(AssignmentListItemProjection p) {
         int total = p.getTotalTasks() == null ? 0 : p.getTotalTasks();
         int completedTasks = p.getCompletedTasks() == null ? 0 : p.getCompletedTasks();
         int inProgressTasks = p.getInProgressTasks() == null ? 0 : p.getInProgressTasks();
-        int progress = total == 0 ? 0 : Math.min(100, Math.max(0, (int) Math.round(100.0 * completedTasks / total)));
+        int progress = progressPct(total, completedTasks);
         boolean completed = total > 0 && completedTasks == total;
-        boolean overdue = !completed && p.getDueAt() != null && p.getDueAt().isBefore(now);
+        // past_due is set by OverdueSweeper once the due time has passed
+        boolean overdue = !completed && Boolean.TRUE.equals(p.getPastDue());
         return new AssignmentListItemDto(
                 p.getId(),
                 p.getTitle(),
@@ -28,4 +27,8 @@ public class AssignmentListItemMapper {
                 overdue
         );
     }
+
+    public static int progressPct(int totalTasks, int completedTasks) {
+        return totalTasks == 0 ? 0 : Math.min(100, Math.max(0, (int) Math.round(100.0 * completedTasks / totalTasks)));
+    }
 }
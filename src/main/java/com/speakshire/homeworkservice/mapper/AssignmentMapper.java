@@ -1,9 +1,14 @@
 package com.speakshire.homeworkservice.mapper;
 
+import com.speakshire.homeworkservice.domain.ArchivedAssignment;
+import com.speakshire.homeworkservice.domain.ArchivedAssignmentDocument;
 import com.speakshire.homeworkservice.domain.HomeworkAssignment;
 import com.speakshire.homeworkservice.domain.HomeworkTask;
 import com.speakshire.homeworkservice.dto.AssignmentDto;
 import com.speakshire.homeworkservice.dto.TaskDto;
+import com.speakshire.homeworkservice.dto.TaskProgressDeltaDto;
+import com.speakshire.homeworkservice.repository.projection.AssignmentCountersProjection;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
 
 import java.util.Comparator;
 import java.util.List;
@@ -13,26 +18,119 @@ public class AssignmentMapper {
   public static AssignmentDto toDto(HomeworkAssignment a) {
     List<TaskDto> taskDtos = a.getTasks().stream()
             .sorted(Comparator.comparing(HomeworkTask::getOrdinal))
+            .map(AssignmentMapper::toTaskDto)
+            .toList();
+
+    return new AssignmentDto(
+            a.getId(), a.getTeacherId(), a.getStudentId(),
+            a.getTitle(), a.getInstructions(),
+            a.getDueAt(), a.getCreatedAt(),
+            taskDtos
+    );
+  }
+
+  public static TaskDto toTaskDto(HomeworkTask t) {
+    return new TaskDto(
+            t.getId(),
+            t.getOrdinal(),
+            t.getType(),
+            t.getSourceKind(),
+            t.getTitle(),
+            t.getInstructions(),
+            t.getContentRef(),
+            t.getStatus(),
+            t.getProgressPct(),
+            t.getStartedAt(),
+            t.getCompletedAt(),
+            t.getMeta()
+    );
+  }
+
+  // Only the task and the assignment counters; never touches the sibling tasks collection
+  public static TaskProgressDeltaDto toProgressDelta(HomeworkTask t, AssignmentCountersProjection c) {
+    int total = c.getTotalTasks();
+    int completed = c.getCompletedTasks();
+    return new TaskProgressDeltaDto(
+            t.getAssignment().getId(),
+            toTaskDto(t),
+            total,
+            completed,
+            c.getInProgressTasks(),
+            AssignmentListItemMapper.progressPct(total, completed),
+            total > 0 && completed == total
+    );
+  }
+
+  // Folds the rows of one assignment (ordered by task ordinal) into its DTO; null when there are no rows
+  public static AssignmentDto fromRows(List<AssignmentTaskRow> rows) {
+    if (rows.isEmpty()) return null;
+    var a = rows.get(0);
+    List<TaskDto> taskDtos = rows.stream()
+            .filter(r -> r.taskId() != null)
+            .map(r -> new TaskDto(
+                    r.taskId(),
+                    r.ordinal(),
+                    r.type(),
+                    r.sourceKind(),
+                    r.taskTitle(),
+                    r.taskInstructions(),
+                    r.contentRef(),
+                    r.status(),
+                    r.progressPct(),
+                    r.startedAt(),
+                    r.completedAt(),
+                    r.meta()
+            )).toList();
+
+    return new AssignmentDto(
+            a.assignmentId(), a.teacherId(), a.studentId(),
+            a.assignmentTitle(), a.assignmentInstructions(),
+            a.dueAt(), a.createdAt(),
+            taskDtos
+    );
+  }
+
+  public static ArchivedAssignmentDocument toArchiveDocument(AssignmentDto a) {
+    return new ArchivedAssignmentDocument(a.instructions(), a.tasks().stream()
+            .map(t -> new ArchivedAssignmentDocument.Task(
+                    t.id(),
+                    t.ordinal(),
+                    t.type(),
+                    t.sourceKind(),
+                    t.title(),
+                    t.instructions(),
+                    t.contentRef(),
+                    t.status(),
+                    t.progressPct(),
+                    t.startedAt(),
+                    t.completedAt(),
+                    t.meta()
+            )).toList());
+  }
+
+  public static AssignmentDto fromArchive(ArchivedAssignment a) {
+    var doc = a.getDocument();
+    List<TaskDto> taskDtos = doc.tasks().stream()
             .map(t -> new TaskDto(
-                    t.getId(),
-                    t.getOrdinal(),
-                    t.getType(),
-                    t.getSourceKind(),
-                    t.getTitle(),
-                    t.getInstructions(),
-                    t.getContentRef(),
-                    t.getStatus(),
-                    t.getProgressPct(),
-                    t.getStartedAt(),
-                    t.getCompletedAt(),
-                    t.getMeta()
+                    t.id(),
+                    t.ordinal(),
+                    t.type(),
+                    t.sourceKind(),
+                    t.title(),
+                    t.instructions(),
+                    t.contentRef(),
+                    t.status(),
+                    t.progressPct(),
+                    t.startedAt(),
+                    t.completedAt(),
+                    t.meta()
             )).toList();
 
     return new AssignmentDto(
             a.getId(), a.getTeacherId(), a.getStudentId(),
-            a.getTitle(), a.getInstructions(),
+            a.getTitle(), doc.instructions(),
             a.getDueAt(), a.getCreatedAt(),
             taskDtos
     );
   }
-}
\ No newline at end of file
+}
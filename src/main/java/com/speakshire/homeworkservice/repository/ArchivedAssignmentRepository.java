@@ -0,0 +1,64 @@
+package com.speakshire.homeworkservice.repository;
+
+import com.speakshire.homeworkservice.domain.ArchivedAssignment;
+import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.repository.projection.AssignmentKeyProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface ArchivedAssignmentRepository extends JpaRepository<ArchivedAssignment, UUID> {
+
+  // Archived assignments are completed by definition, so the list item is built from the stored columns alone
+  String LIST_ITEM_SELECT = "select new com.speakshire.homeworkservice.dto.AssignmentListItemDto(" +
+          "a.id, a.title, a.studentId, a.createdAt, a.dueAt, a.totalTasks, a.totalTasks, 0, 100, true, false) " +
+          "from ArchivedAssignment a ";
+
+  // Archive side of the idempotency lookups in HomeworkAssignmentRepository
+  Optional<ArchivedAssignment> findByTeacherIdAndStudentIdAndIdempotencyKey(
+          UUID teacherId, UUID studentId, String idempotencyKey);
+
+  @Query("select a.id as id, a.studentId as studentId, a.idempotencyKey as idempotencyKey " +
+          "from ArchivedAssignment a where a.teacherId = :teacherId and a.idempotencyKey in :keys")
+  List<AssignmentKeyProjection> findKeysByTeacherIdAndIdempotencyKeyIn(@Param("teacherId") UUID teacherId,
+                                                                       @Param("keys") Collection<String> keys);
+
+  @Query(value = LIST_ITEM_SELECT + "where a.studentId = :studentId",
+          countQuery = "select count(a) from ArchivedAssignment a where a.studentId = :studentId")
+  Page<AssignmentListItemDto> listItemsForStudent(@Param("studentId") UUID studentId, Pageable pageable);
+
+  @Query(value = LIST_ITEM_SELECT + "where a.teacherId = :teacherId",
+          countQuery = "select count(a) from ArchivedAssignment a where a.teacherId = :teacherId")
+  Page<AssignmentListItemDto> listItemsForTeacher(@Param("teacherId") UUID teacherId, Pageable pageable);
+
+  @Query(value = LIST_ITEM_SELECT + "where a.teacherId = :teacherId and a.studentId = :studentId",
+          countQuery = "select count(a) from ArchivedAssignment a " +
+                  "where a.teacherId = :teacherId and a.studentId = :studentId")
+  Page<AssignmentListItemDto> listItemsForTeacherAndStudent(@Param("teacherId") UUID teacherId,
+                                                            @Param("studentId") UUID studentId,
+                                                            Pageable pageable);
+
+  // Export counterpart of HomeworkAssignmentRepository#streamRowsForTeacher; callers detach each row once written
+  @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+  @Query("select a from ArchivedAssignment a where a.teacherId = :teacherId order by a.createdAt, a.id")
+  Stream<ArchivedAssignment> streamForTeacher(@Param("teacherId") UUID teacherId);
+
+  @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+  @Query("select a from ArchivedAssignment a where a.teacherId = :teacherId and a.studentId = :studentId " +
+          "order by a.createdAt, a.id")
+  Stream<ArchivedAssignment> streamForTeacherAndStudent(@Param("teacherId") UUID teacherId,
+                                                        @Param("studentId") UUID studentId);
+}
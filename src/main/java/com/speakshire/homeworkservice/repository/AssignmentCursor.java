@@ -0,0 +1,35 @@
+package com.speakshire.homeworkservice.repository;
+
+import com.speakshire.homeworkservice.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page: the sort key (createdAt or dueAt, may be null for dueAt)
+ * and the id tie-breaker. Serialized as an opaque url-safe token bound to the sort it was issued for.
+ */
+public record AssignmentCursor(AssignmentListSort sort, OffsetDateTime key, UUID id) {
+
+  public String encode() {
+    String raw = sort.name() + "|" + (key == null ? "" : key.toString()) + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static AssignmentCursor decode(String token, AssignmentListSort expectedSort) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", -1);
+      if (parts.length != 3 || !expectedSort.name().equals(parts[0])) {
+        throw new BadRequestException("Cursor does not match the requested sort");
+      }
+      OffsetDateTime key = parts[1].isEmpty() ? null : OffsetDateTime.parse(parts[1]);
+      return new AssignmentCursor(expectedSort, key, UUID.fromString(parts[2]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.speakshire.homeworkservice.repository;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * The four listing orders. Null due dates follow PostgreSQL's default placement
+ * (last when ascending, first when descending) in both offset and keyset mode.
+ */
+public enum AssignmentListSort {
+  ASSIGNED_DESC("createdAt", Sort.Direction.DESC),
+  ASSIGNED_ASC("createdAt", Sort.Direction.ASC),
+  DUE_ASC("dueAt", Sort.Direction.ASC),
+  DUE_DESC("dueAt", Sort.Direction.DESC);
+
+  private final String property;
+  private final Sort.Direction direction;
+
+  AssignmentListSort(String property, Sort.Direction direction) {
+    this.property = property;
+    this.direction = direction;
+  }
+
+  public static AssignmentListSort of(String sort) {
+    if (sort == null) return ASSIGNED_DESC;
+    return switch (sort) {
+      case "assigned_asc" -> ASSIGNED_ASC;
+      case "due_asc" -> DUE_ASC;
+      case "due_desc" -> DUE_DESC;
+      default -> ASSIGNED_DESC;
+    };
+  }
+
+  public String property() {
+    return property;
+  }
+
+  public boolean ascending() {
+    return direction.isAscending();
+  }
+
+  public boolean nullable() {
+    return "dueAt".equals(property);
+  }
+
+  public Sort toSort() {
+    var order = new Sort.Order(direction, property);
+    if (nullable()) order = ascending() ? order.nullsLast() : order.nullsFirst();
+    return Sort.by(order, new Sort.Order(direction, "id"));
+  }
+}
@@ -0,0 +1,25 @@
+package com.speakshire.homeworkservice.repository;
+
+/**
+ * Listing status rules expressed as the flags consumed by {@link HomeworkAssignmentRepository#STATUS_FILTER}.
+ * A row matches when any enabled branch matches:
+ * openInRange - not completed and created within [from,to];
+ * openAnytime - not completed;
+ * overdue - not completed and past its due date;
+ * doneInRange - completed and created within [from,to].
+ */
+public record AssignmentStatusFilter(boolean openInRange,
+                                     boolean openAnytime,
+                                     boolean overdue,
+                                     boolean doneInRange) {
+
+  public static AssignmentStatusFilter of(String status, boolean includeOverdue, boolean hideCompleted) {
+    return switch (status) {
+      case "notFinished" -> new AssignmentStatusFilter(false, true, false, false);
+      case "completed" -> new AssignmentStatusFilter(false, false, false, true);
+      case "all" -> new AssignmentStatusFilter(true, false, false, true);
+      // active: not finished within range + overdue (optionally outside range) + completed in range unless hidden
+      default -> new AssignmentStatusFilter(true, false, includeOverdue, !hideCompleted);
+    };
+  }
+}
@@ -1,87 +1,181 @@
 package com.speakshire.homeworkservice.repository;
 
 import com.speakshire.homeworkservice.domain.HomeworkAssignment;
+import com.speakshire.homeworkservice.repository.projection.AssignmentCountersProjection;
+import com.speakshire.homeworkservice.repository.projection.AssignmentCountsProjection;
+import com.speakshire.homeworkservice.repository.projection.AssignmentKeyProjection;
 import com.speakshire.homeworkservice.repository.projection.AssignmentListItemProjection;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface HomeworkAssignmentRepository extends JpaRepository<HomeworkAssignment, UUID> {
+public interface HomeworkAssignmentRepository extends JpaRepository<HomeworkAssignment, UUID>,
+        HomeworkAssignmentRepositoryCustom {
 
+  String LIST_ITEM_SELECT = "select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
+          "a.totalTasks as totalTasks, a.completedTasks as completedTasks, a.inProgressTasks as inProgressTasks, " +
+          "a.pastDue as pastDue, " +
+          "case when a.totalTasks = 0 then 0 else a.progressSum / a.totalTasks end as progressPct " +
+          "from HomeworkAssignment a ";
+
+  // An assignment is completed when it has at least one task and every task is COMPLETED
+  String COMPLETED = "(a.totalTasks > 0 and a.completedTasks = a.totalTasks)";
+
+  // Row-level status rules, see AssignmentStatusFilter for how each status maps onto the flags
+  String STATUS_FILTER = " and ((:openInRange = true and not " + COMPLETED + " and a.createdAt between :from and :to) " +
+          "or (:openAnytime = true and not " + COMPLETED + ") " +
+          "or (:overdue = true and not " + COMPLETED + " and a.pastDue = true) " +
+          "or (:doneInRange = true and " + COMPLETED + " and a.createdAt between :from and :to))";
+
+  String ASSIGNMENT_TASK_ROW_SELECT = "select new com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow(" +
+          "a.id, a.teacherId, a.studentId, a.title, a.instructions, a.dueAt, a.createdAt, " +
+          "t.id, t.ordinal, t.type, t.sourceKind, t.title, t.instructions, t.contentRef, " +
+          "t.status, t.progressPct, t.startedAt, t.completedAt, t.meta) " +
+          "from HomeworkAssignment a left join a.tasks t ";
+
+  // Read-only full view straight into rows: no managed entities, no dirty-checking snapshots
+  @Query(ASSIGNMENT_TASK_ROW_SELECT + "where a.id = :id order by t.ordinal")
+  List<AssignmentTaskRow> findRowsById(@Param("id") UUID id);
+
+  // Rows of several assignments, grouped by assignment and ordered by task ordinal within each
+  @Query(ASSIGNMENT_TASK_ROW_SELECT + "where a.id in :ids order by a.id, t.ordinal")
+  List<AssignmentTaskRow> findRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  // Export: a tutor's whole history read through a database cursor, rows of one assignment next to each other.
+  // Must be consumed inside a transaction; PostgreSQL only honours the fetch size without autocommit.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(ASSIGNMENT_TASK_ROW_SELECT + "where a.teacherId = :teacherId order by a.createdAt, a.id, t.ordinal")
+  Stream<AssignmentTaskRow> streamRowsForTeacher(@Param("teacherId") UUID teacherId);
+
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  @Query(ASSIGNMENT_TASK_ROW_SELECT + "where a.teacherId = :teacherId and a.studentId = :studentId " +
+          "order by a.createdAt, a.id, t.ordinal")
+  Stream<AssignmentTaskRow> streamRowsForTeacherAndStudent(@Param("teacherId") UUID teacherId,
+                                                           @Param("studentId") UUID studentId);
+
+  // Row lock for deletes: the counters read under it cannot change until the delete commits
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select a from HomeworkAssignment a where a.id = :id")
+  Optional<HomeworkAssignment> findByIdForUpdate(@Param("id") UUID id);
+
+  // Assignment together with its ordered tasks in a single statement
+  @EntityGraph(attributePaths = "tasks")
+  Optional<HomeworkAssignment> findWithTasksById(UUID id);
+
+  @EntityGraph(attributePaths = "tasks")
   Optional<HomeworkAssignment> findByTeacherIdAndStudentIdAndIdempotencyKey(
           UUID teacherId, UUID studentId, String idempotencyKey);
 
+  // Idempotency lookup for a whole bulk request in one query
+  @Query("select a.id as id, a.studentId as studentId, a.idempotencyKey as idempotencyKey " +
+          "from HomeworkAssignment a where a.teacherId = :teacherId and a.idempotencyKey in :keys")
+  List<AssignmentKeyProjection> findKeysByTeacherIdAndIdempotencyKeyIn(@Param("teacherId") UUID teacherId,
+                                                                       @Param("keys") Collection<String> keys);
+
+  // Relative update so concurrent task transitions on the same assignment never lose an increment
+  @Modifying
+  @Query("update HomeworkAssignment a set a.completedTasks = a.completedTasks + :completed, " +
+          "a.inProgressTasks = a.inProgressTasks + :inProgress, a.progressSum = a.progressSum + :progress " +
+          "where a.id = :id")
+  int applyTaskDelta(@Param("id") UUID id,
+                     @Param("completed") int completedDelta,
+                     @Param("inProgress") int inProgressDelta,
+                     @Param("progress") int progressDelta);
+
+  // Reads the counters as stored, bypassing any managed (possibly stale) assignment instance
+  @Query("select a.totalTasks as totalTasks, a.completedTasks as completedTasks, " +
+          "a.inProgressTasks as inProgressTasks, a.progressSum as progressSum, a.pastDue as pastDue " +
+          "from HomeworkAssignment a where a.id = :id")
+  AssignmentCountersProjection findCountersById(@Param("id") UUID id);
+
+  // Next assignments whose due time has passed, locked with SKIP LOCKED (lock timeout -2)
+  // so sweepers on other replicas take other rows
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("select a from HomeworkAssignment a where a.pastDue = false and a.dueAt < :now order by a.dueAt")
+  List<HomeworkAssignment> lockNextPastDue(@Param("now") OffsetDateTime now, Pageable page);
+
+  @Modifying
+  @Query("update HomeworkAssignment a set a.pastDue = true where a.id in :ids")
+  int markPastDue(@Param("ids") Collection<UUID> ids);
+
+  // Oldest completed assignments created before the cutoff, locked with SKIP LOCKED like lockNextPastDue
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("select a from HomeworkAssignment a where " + COMPLETED + " and a.createdAt < :cutoff order by a.createdAt")
+  List<HomeworkAssignment> lockNextArchivable(@Param("cutoff") OffsetDateTime cutoff, Pageable page);
+
   // Student-focused projections
-  @Query("select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
-          "count(t.id) as totalTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.COMPLETED then 1 else 0 end) as completedTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.IN_PROGRESS then 1 else 0 end) as inProgressTasks, " +
-          "coalesce(avg(t.progressPct),0) as progressPct " +
-          "from HomeworkAssignment a left join a.tasks t " +
-          "where a.studentId = :studentId group by a.id")
-  Page<AssignmentListItemProjection> listItemsBase(@Param("studentId") UUID studentId, Pageable pageable);
-
-  @Query("select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
-          "count(t.id) as totalTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.COMPLETED then 1 else 0 end) as completedTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.IN_PROGRESS then 1 else 0 end) as inProgressTasks, " +
-          "coalesce(avg(t.progressPct),0) as progressPct " +
-          "from HomeworkAssignment a left join a.tasks t " +
-          "where a.studentId = :studentId and a.createdAt between :from and :to group by a.id")
-  Page<AssignmentListItemProjection> listItemsWithin(@Param("studentId") UUID studentId,
-                                                   @Param("from") OffsetDateTime from,
-                                                   @Param("to") OffsetDateTime to,
-                                                   Pageable pageable);
+  @Query(value = LIST_ITEM_SELECT + "where a.studentId = :studentId" + STATUS_FILTER,
+          countQuery = "select count(a) from HomeworkAssignment a where a.studentId = :studentId" + STATUS_FILTER)
+  Page<AssignmentListItemProjection> listItemsForStudent(@Param("studentId") UUID studentId,
+                                                         @Param("openInRange") boolean openInRange,
+                                                         @Param("openAnytime") boolean openAnytime,
+                                                         @Param("overdue") boolean overdue,
+                                                         @Param("doneInRange") boolean doneInRange,
+                                                         @Param("from") OffsetDateTime from,
+                                                         @Param("to") OffsetDateTime to,
+                                                         Pageable pageable);
+
+  // Windowed counters of the student counts endpoint: one range scan over the rows created in the window, via
+  // the (student_id, created_at) index. The all-time ones come from student_assignment_counts.
+  @Query("select " +
+          "count(a) filter (where " + COMPLETED + ") as completed, " +
+          "count(a) filter (where not " + COMPLETED + ") as openInRange, " +
+          "count(a) filter (where not " + COMPLETED + " and a.pastDue = true) as overdueInRange, " +
+          "count(a) as allInRange " +
+          "from HomeworkAssignment a where a.studentId = :studentId and a.createdAt between :from and :to")
+  AssignmentCountsProjection countsForStudent(@Param("studentId") UUID studentId,
+                                              @Param("from") OffsetDateTime from,
+                                              @Param("to") OffsetDateTime to);
+
+  // Fallbacks for students without a student_assignment_counts row yet
+  @Query("select count(a) from HomeworkAssignment a where a.studentId = :studentId and not " + COMPLETED)
+  long countNotFinishedByStudentId(@Param("studentId") UUID studentId);
+
+  @Query("select count(a) from HomeworkAssignment a where a.studentId = :studentId and a.pastDue = true " +
+          "and not " + COMPLETED)
+  long countOverdueByStudentId(@Param("studentId") UUID studentId);
 
   // Teacher-focused projections (optionally filtered by student)
-  @Query("select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
-          "count(t.id) as totalTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.COMPLETED then 1 else 0 end) as completedTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.IN_PROGRESS then 1 else 0 end) as inProgressTasks, " +
-          "coalesce(avg(t.progressPct),0) as progressPct " +
-          "from HomeworkAssignment a left join a.tasks t " +
-          "where a.teacherId = :teacherId group by a.id")
-  Page<AssignmentListItemProjection> listItemsBaseForTeacher(@Param("teacherId") UUID teacherId, Pageable pageable);
-
-  @Query("select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
-          "count(t.id) as totalTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.COMPLETED then 1 else 0 end) as completedTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.IN_PROGRESS then 1 else 0 end) as inProgressTasks, " +
-          "coalesce(avg(t.progressPct),0) as progressPct " +
-          "from HomeworkAssignment a left join a.tasks t " +
-          "where a.teacherId = :teacherId and a.createdAt between :from and :to group by a.id")
-  Page<AssignmentListItemProjection> listItemsWithinForTeacher(@Param("teacherId") UUID teacherId,
-                                                              @Param("from") OffsetDateTime from,
-                                                              @Param("to") OffsetDateTime to,
-                                                              Pageable pageable);
-
-  @Query("select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
-          "count(t.id) as totalTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.COMPLETED then 1 else 0 end) as completedTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.IN_PROGRESS then 1 else 0 end) as inProgressTasks, " +
-          "coalesce(avg(t.progressPct),0) as progressPct " +
-          "from HomeworkAssignment a left join a.tasks t " +
-          "where a.teacherId = :teacherId and a.studentId = :studentId group by a.id")
-  Page<AssignmentListItemProjection> listItemsBaseForTeacherAndStudent(@Param("teacherId") UUID teacherId,
-                                                                      @Param("studentId") UUID studentId,
-                                                                      Pageable pageable);
-
-  @Query("select a.id as id, a.title as title, a.studentId as studentId, a.createdAt as createdAt, a.dueAt as dueAt, " +
-          "count(t.id) as totalTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.COMPLETED then 1 else 0 end) as completedTasks, " +
-          "sum(case when t.status = com.speakshire.homeworkservice.domain.HomeworkTaskStatus.IN_PROGRESS then 1 else 0 end) as inProgressTasks, " +
-          "coalesce(avg(t.progressPct),0) as progressPct " +
-          "from HomeworkAssignment a left join a.tasks t " +
-          "where a.teacherId = :teacherId and a.studentId = :studentId and a.createdAt between :from and :to group by a.id")
-  Page<AssignmentListItemProjection> listItemsWithinForTeacherAndStudent(@Param("teacherId") UUID teacherId,
-                                                                        @Param("studentId") UUID studentId,
-                                                                        @Param("from") OffsetDateTime from,
-                                                                        @Param("to") OffsetDateTime to,
-                                                                        Pageable pageable);
+  @Query(value = LIST_ITEM_SELECT + "where a.teacherId = :teacherId" + STATUS_FILTER,
+          countQuery = "select count(a) from HomeworkAssignment a where a.teacherId = :teacherId" + STATUS_FILTER)
+  Page<AssignmentListItemProjection> listItemsForTeacher(@Param("teacherId") UUID teacherId,
+                                                         @Param("openInRange") boolean openInRange,
+                                                         @Param("openAnytime") boolean openAnytime,
+                                                         @Param("overdue") boolean overdue,
+                                                         @Param("doneInRange") boolean doneInRange,
+                                                         @Param("from") OffsetDateTime from,
+                                                         @Param("to") OffsetDateTime to,
+                                                         Pageable pageable);
+
+  @Query(value = LIST_ITEM_SELECT + "where a.teacherId = :teacherId and a.studentId = :studentId" + STATUS_FILTER,
+          countQuery = "select count(a) from HomeworkAssignment a " +
+                  "where a.teacherId = :teacherId and a.studentId = :studentId" + STATUS_FILTER)
+  Page<AssignmentListItemProjection> listItemsForTeacherAndStudent(@Param("teacherId") UUID teacherId,
+                                                                   @Param("studentId") UUID studentId,
+                                                                   @Param("openInRange") boolean openInRange,
+                                                                   @Param("openAnytime") boolean openAnytime,
+                                                                   @Param("overdue") boolean overdue,
+                                                                   @Param("doneInRange") boolean doneInRange,
+                                                                   @Param("from") OffsetDateTime from,
+                                                                   @Param("to") OffsetDateTime to,
+                                                                   Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.speakshire.homeworkservice.repository;
+
+import com.speakshire.homeworkservice.repository.projection.AssignmentListItemProjection;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface HomeworkAssignmentRepositoryCustom {
+
+  /**
+   * Keyset page of list items for a teacher and/or student (at least one must be set), ordered by
+   * {@code sort} with id as tie-breaker and starting strictly after {@code after} when present.
+   * No count query is issued.
+   */
+  List<AssignmentListItemProjection> seekListItems(UUID teacherId,
+                                                   UUID studentId,
+                                                   AssignmentStatusFilter filter,
+                                                   OffsetDateTime from,
+                                                   OffsetDateTime to,
+                                                   AssignmentListSort sort,
+                                                   AssignmentCursor after,
+                                                   int limit);
+}
@@ -0,0 +1,80 @@
+package com.speakshire.homeworkservice.repository;
+
+import com.speakshire.homeworkservice.repository.projection.AssignmentListItemProjection;
+import com.speakshire.homeworkservice.repository.projection.AssignmentListItemRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class HomeworkAssignmentRepositoryImpl implements HomeworkAssignmentRepositoryCustom {
+
+  private static final String ROW_SELECT = "select new " + AssignmentListItemRow.class.getName() + "(" +
+          "a.id, a.title, a.studentId, a.createdAt, a.dueAt, a.totalTasks, a.completedTasks, a.inProgressTasks, " +
+          "a.pastDue, case when a.totalTasks = 0 then 0 else a.progressSum / a.totalTasks end) " +
+          "from HomeworkAssignment a ";
+
+  @PersistenceContext
+  private EntityManager em;
+
+  @Override
+  public List<AssignmentListItemProjection> seekListItems(UUID teacherId,
+                                                          UUID studentId,
+                                                          AssignmentStatusFilter filter,
+                                                          OffsetDateTime from,
+                                                          OffsetDateTime to,
+                                                          AssignmentListSort sort,
+                                                          AssignmentCursor after,
+                                                          int limit) {
+    if (teacherId == null && studentId == null) {
+      throw new IllegalArgumentException("teacherId or studentId is required");
+    }
+    List<String> owner = new ArrayList<>();
+    if (teacherId != null) owner.add("a.teacherId = :teacherId");
+    if (studentId != null) owner.add("a.studentId = :studentId");
+
+    StringBuilder jpql = new StringBuilder(ROW_SELECT)
+            .append("where ").append(String.join(" and ", owner))
+            .append(HomeworkAssignmentRepository.STATUS_FILTER);
+    if (after != null) {
+      jpql.append(" and ").append(seekPredicate(sort, after.key() == null));
+    }
+    String col = "a." + sort.property();
+    String dir = sort.ascending() ? "asc" : "desc";
+    jpql.append(" order by ").append(col).append(' ').append(dir);
+    if (sort.nullable()) jpql.append(sort.ascending() ? " nulls last" : " nulls first");
+    jpql.append(", a.id ").append(dir);
+
+    var query = em.createQuery(jpql.toString(), AssignmentListItemRow.class)
+            .setParameter("openInRange", filter.openInRange())
+            .setParameter("openAnytime", filter.openAnytime())
+            .setParameter("overdue", filter.overdue())
+            .setParameter("doneInRange", filter.doneInRange())
+            .setParameter("from", from)
+            .setParameter("to", to)
+            .setMaxResults(limit);
+    if (teacherId != null) query.setParameter("teacherId", teacherId);
+    if (studentId != null) query.setParameter("studentId", studentId);
+    if (after != null) {
+      query.setParameter("afterId", after.id());
+      if (after.key() != null) query.setParameter("afterKey", after.key());
+    }
+    return List.copyOf(query.getResultList());
+  }
+
+  // Rows strictly after the cursor in (key, id) order; null keys sort last ascending and first descending.
+  // A row-value comparison, so the database seeks straight to the cursor in the (owner, key, id) index.
+  private String seekPredicate(AssignmentListSort sort, boolean nullKey) {
+    String col = "a." + sort.property();
+    String cmp = sort.ascending() ? ">" : "<";
+    String after = "(" + col + ", a.id) " + cmp + " (:afterKey, :afterId)";
+    if (!sort.nullable()) return after;
+    if (sort.ascending()) {
+      return nullKey ? "(" + col + " is null and a.id > :afterId)" : "(" + after + " or " + col + " is null)";
+    }
+    return nullKey ? "((" + col + " is null and a.id < :afterId) or " + col + " is not null)" : after;
+  }
+}
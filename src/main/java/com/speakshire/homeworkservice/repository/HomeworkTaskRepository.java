@@ -1,9 +1,36 @@
 package com.speakshire.homeworkservice.repository;
 
 import com.speakshire.homeworkservice.domain.HomeworkTask;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface HomeworkTaskRepository extends JpaRepository<HomeworkTask, UUID> {
-}
\ No newline at end of file
+
+  // Serializes transitions of one task so assignment counter deltas are computed from the committed state
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select t from HomeworkTask t join fetch t.assignment where t.id = :id")
+  Optional<HomeworkTask> findByIdForUpdate(@Param("id") UUID id);
+
+  // Batch variant of findByIdForUpdate. Locks only the task rows, in id order: without a fetch join the lock
+  // cannot reach the assignments, which ProgressBatchWriter then locks through their counter updates in
+  // assignment id order. Concurrent batches thus take both kinds of row in one global order.
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select t from HomeworkTask t where t.id in :ids order by t.id")
+  List<HomeworkTask> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+  @Query("select t.assignment.studentId from HomeworkTask t where t.id = :id")
+  Optional<UUID> findStudentIdById(@Param("id") UUID id);
+
+  @Modifying
+  @Query("delete from HomeworkTask t where t.assignment.id in :assignmentIds")
+  int deleteByAssignmentIds(@Param("assignmentIds") Collection<UUID> assignmentIds);
+}
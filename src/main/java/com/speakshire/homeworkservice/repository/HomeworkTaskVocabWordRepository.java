@@ -1,8 +1,25 @@
 package com.speakshire.homeworkservice.repository;
 
 import com.speakshire.homeworkservice.domain.HomeworkTaskVocabWord;
+import com.speakshire.homeworkservice.repository.projection.VocabWordRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface HomeworkTaskVocabWordRepository extends JpaRepository<HomeworkTaskVocabWord, UUID> {}
\ No newline at end of file
+public interface HomeworkTaskVocabWordRepository extends JpaRepository<HomeworkTaskVocabWord, UUID> {
+
+  @Query("select new com.speakshire.homeworkservice.repository.projection.VocabWordRow(" +
+          "t.assignment.id, t.id, w.wordId, w.learned) " +
+          "from HomeworkTaskVocabWord w join w.task t where t.assignment.id in :assignmentIds")
+  List<VocabWordRow> findRowsByAssignmentIds(@Param("assignmentIds") Collection<UUID> assignmentIds);
+
+  @Modifying
+  @Query("delete from HomeworkTaskVocabWord w " +
+          "where w.task.id in (select t.id from HomeworkTask t where t.assignment.id in :assignmentIds)")
+  int deleteByAssignmentIds(@Param("assignmentIds") Collection<UUID> assignmentIds);
+}
@@ -0,0 +1,22 @@
+package com.speakshire.homeworkservice.repository;
+
+import com.speakshire.homeworkservice.domain.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+  // FOR UPDATE SKIP LOCKED (lock timeout -2): concurrent relays on other replicas take disjoint batches
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+  @Query("select e from OutboxEvent e order by e.createdAt")
+  List<OutboxEvent> lockNextBatch(Pageable page);
+}
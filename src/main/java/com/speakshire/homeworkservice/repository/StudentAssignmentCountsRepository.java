@@ -0,0 +1,37 @@
+package com.speakshire.homeworkservice.repository;
+
+import com.speakshire.homeworkservice.domain.StudentAssignmentCounts;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface StudentAssignmentCountsRepository extends JpaRepository<StudentAssignmentCounts, UUID> {
+
+  // Creates the missing rows for the students of freshly inserted assignments; concurrent creators are harmless
+  @Modifying(flushAutomatically = true)
+  @Query(value = "insert into student_assignment_counts (student_id, not_finished, overdue) " +
+          "select distinct a.student_id, 0, 0 from homework_assignments a where a.id in (:ids) " +
+          "on conflict do nothing", nativeQuery = true)
+  int ensureRowsForAssignments(@Param("ids") Collection<UUID> assignmentIds);
+
+  // New assignments always have tasks, so each one starts as not finished; past due if created after its due time
+  @Modifying
+  @Query("update StudentAssignmentCounts c set c.notFinished = c.notFinished + " +
+          "(select count(a) from HomeworkAssignment a where a.studentId = c.studentId and a.id in :ids), " +
+          "c.overdue = c.overdue + " +
+          "(select count(a) from HomeworkAssignment a where a.studentId = c.studentId and a.id in :ids " +
+          "and a.pastDue = true) " +
+          "where c.studentId in (select a.studentId from HomeworkAssignment a where a.id in :ids)")
+  int addCreatedAssignments(@Param("ids") Collection<UUID> assignmentIds);
+
+  @Modifying
+  @Query("update StudentAssignmentCounts c set c.notFinished = c.notFinished + :notFinished, " +
+          "c.overdue = c.overdue + :overdue where c.studentId = :studentId")
+  int applyDelta(@Param("studentId") UUID studentId,
+                 @Param("notFinished") int notFinishedDelta,
+                 @Param("overdue") int overdueDelta);
+}
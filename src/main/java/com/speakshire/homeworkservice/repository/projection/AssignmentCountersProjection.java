@@ -0,0 +1,9 @@
+package com.speakshire.homeworkservice.repository.projection;
+
+public interface AssignmentCountersProjection {
+    Integer getTotalTasks();
+    Integer getCompletedTasks();
+    Integer getInProgressTasks();
+    Integer getProgressSum();
+    Boolean getPastDue();
+}
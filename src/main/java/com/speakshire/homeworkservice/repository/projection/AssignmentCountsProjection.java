@@ -0,0 +1,8 @@
+package com.speakshire.homeworkservice.repository.projection;
+
+public interface AssignmentCountsProjection {
+    Long getCompleted();
+    Long getOpenInRange();
+    Long getOverdueInRange();
+    Long getAllInRange();
+}
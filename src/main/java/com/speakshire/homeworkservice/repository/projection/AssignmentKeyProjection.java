@@ -0,0 +1,9 @@
+package com.speakshire.homeworkservice.repository.projection;
+
+import java.util.UUID;
+
+public interface AssignmentKeyProjection {
+    UUID getId();
+    UUID getStudentId();
+    String getIdempotencyKey();
+}
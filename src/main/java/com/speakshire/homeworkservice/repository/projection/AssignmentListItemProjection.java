@@ -12,5 +12,6 @@ public interface AssignmentListItemProjection {
     Integer getTotalTasks();
     Integer getCompletedTasks();
     Integer getInProgressTasks();
+    Boolean getPastDue();
     Integer getProgressPct();
 }
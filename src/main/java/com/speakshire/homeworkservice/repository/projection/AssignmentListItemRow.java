@@ -0,0 +1,30 @@
+package com.speakshire.homeworkservice.repository.projection;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// Constructor-expression counterpart of the interface projection, for queries built outside @Query
+public record AssignmentListItemRow(
+        UUID id,
+        String title,
+        UUID studentId,
+        OffsetDateTime createdAt,
+        OffsetDateTime dueAt,
+        Integer totalTasks,
+        Integer completedTasks,
+        Integer inProgressTasks,
+        Boolean pastDue,
+        Integer progressPct
+) implements AssignmentListItemProjection {
+
+    @Override public UUID getId() { return id; }
+    @Override public String getTitle() { return title; }
+    @Override public UUID getStudentId() { return studentId; }
+    @Override public OffsetDateTime getCreatedAt() { return createdAt; }
+    @Override public OffsetDateTime getDueAt() { return dueAt; }
+    @Override public Integer getTotalTasks() { return totalTasks; }
+    @Override public Integer getCompletedTasks() { return completedTasks; }
+    @Override public Integer getInProgressTasks() { return inProgressTasks; }
+    @Override public Boolean getPastDue() { return pastDue; }
+    @Override public Integer getProgressPct() { return progressPct; }
+}
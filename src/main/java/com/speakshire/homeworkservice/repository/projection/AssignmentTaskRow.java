@@ -0,0 +1,32 @@
+package com.speakshire.homeworkservice.repository.projection;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskStatus;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// One assignment/task pair of the flattened full view; task columns are null for an assignment without tasks
+public record AssignmentTaskRow(
+        UUID assignmentId,
+        UUID teacherId,
+        UUID studentId,
+        String assignmentTitle,
+        String assignmentInstructions,
+        OffsetDateTime dueAt,
+        OffsetDateTime createdAt,
+        UUID taskId,
+        Integer ordinal,
+        HomeworkTaskType type,
+        SourceKind sourceKind,
+        String taskTitle,
+        String taskInstructions,
+        Map<String, Object> contentRef,
+        HomeworkTaskStatus status,
+        Integer progressPct,
+        OffsetDateTime startedAt,
+        OffsetDateTime completedAt,
+        Map<String, Object> meta
+) {}
@@ -0,0 +1,6 @@
+package com.speakshire.homeworkservice.repository.projection;
+
+import java.util.UUID;
+
+// One vocab word of a task together with the assignment it belongs to
+public record VocabWordRow(UUID assignmentId, UUID taskId, UUID wordId, boolean learned) {}
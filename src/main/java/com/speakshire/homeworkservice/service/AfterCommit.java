@@ -0,0 +1,23 @@
+package com.speakshire.homeworkservice.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Runs an action once the surrounding transaction commits, or right away when there is none
+final class AfterCommit {
+
+  private AfterCommit() {}
+
+  static void run(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+}
@@ -0,0 +1,122 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.domain.ArchivedAssignment;
+import com.speakshire.homeworkservice.domain.HomeworkAssignment;
+import com.speakshire.homeworkservice.mapper.AssignmentMapper;
+import com.speakshire.homeworkservice.repository.ArchivedAssignmentRepository;
+import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.HomeworkTaskRepository;
+import com.speakshire.homeworkservice.repository.HomeworkTaskVocabWordRepository;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed assignments older than {@code homework.archive.min-age} out of the hot tables into
+ * homework_assignments_archive, so listings, counts and their indexes only carry recent and unfinished work.
+ * Works in chunks like {@link OverdueSweeper}: each chunk is locked with SKIP LOCKED, copied, deleted from
+ * homework_assignments, homework_tasks and homework_task_vocab_words, and committed on its own.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "homework.archive.enabled", havingValue = "true")
+public class AssignmentArchiver {
+
+  private final HomeworkAssignmentRepository assignmentRepo;
+  private final HomeworkTaskRepository taskRepo;
+  private final HomeworkTaskVocabWordRepository vocabRepo;
+  private final ArchivedAssignmentRepository archiveRepo;
+  private final HomeworkCacheInvalidator cacheInvalidator;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration minAge;
+  private final int chunkSize;
+
+  public AssignmentArchiver(HomeworkAssignmentRepository assignmentRepo,
+                            HomeworkTaskRepository taskRepo,
+                            HomeworkTaskVocabWordRepository vocabRepo,
+                            ArchivedAssignmentRepository archiveRepo,
+                            HomeworkCacheInvalidator cacheInvalidator,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${homework.archive.min-age:P180D}") Duration minAge,
+                            @Value("${homework.archive.chunk-size:200}") int chunkSize) {
+    this.assignmentRepo = assignmentRepo;
+    this.taskRepo = taskRepo;
+    this.vocabRepo = vocabRepo;
+    this.archiveRepo = archiveRepo;
+    this.cacheInvalidator = cacheInvalidator;
+    this.transactionTemplate = transactionTemplate;
+    this.minAge = minAge;
+    this.chunkSize = chunkSize;
+  }
+
+  @Scheduled(initialDelayString = "${homework.archive.initial-delay-ms:60000}",
+          fixedDelayString = "${homework.archive.interval-ms:3600000}")
+  public void archive() {
+    var cutoff = OffsetDateTime.now().minus(minAge);
+    try {
+      int moved;
+      do {
+        moved = archiveChunk(cutoff);
+      } while (moved == chunkSize);
+    } catch (RuntimeException e) {
+      log.warn("Assignment archiving failed, will retry", e);
+    }
+  }
+
+  // Returns how many assignments were moved; fewer than the chunk size means nothing older is left
+  public int archiveChunk(OffsetDateTime cutoff) {
+    Integer moved = transactionTemplate.execute(status -> {
+      var locked = assignmentRepo.lockNextArchivable(cutoff, PageRequest.of(0, chunkSize));
+      if (locked.isEmpty()) return 0;
+      var ids = locked.stream().map(HomeworkAssignment::getId).toList();
+
+      var rows = assignmentRepo.findRowsByIdIn(ids).stream()
+              .collect(Collectors.groupingBy(AssignmentTaskRow::assignmentId));
+      var vocab = vocabRepo.findRowsByAssignmentIds(ids).stream()
+              .collect(Collectors.groupingBy(w -> w.assignmentId(),
+                      Collectors.mapping(w -> new ArchivedAssignment.VocabWord(w.taskId(), w.wordId(), w.learned()),
+                              Collectors.toList())));
+
+      var now = OffsetDateTime.now();
+      archiveRepo.saveAll(locked.stream().map(a -> {
+        var archived = new ArchivedAssignment();
+        archived.setId(a.getId());
+        archived.setTeacherId(a.getTeacherId());
+        archived.setStudentId(a.getStudentId());
+        archived.setTitle(a.getTitle());
+        archived.setDueAt(a.getDueAt());
+        archived.setLessonId(a.getLessonId());
+        archived.setIdempotencyKey(a.getIdempotencyKey());
+        archived.setCreatedAt(a.getCreatedAt());
+        archived.setTotalTasks(a.getTotalTasks());
+        archived.setArchivedAt(now);
+        archived.setDocument(AssignmentMapper.toArchiveDocument(AssignmentMapper.fromRows(rows.get(a.getId()))));
+        archived.setVocabWords(vocab.getOrDefault(a.getId(), List.of()));
+        return archived;
+      }).toList());
+
+      vocabRepo.deleteByAssignmentIds(ids);
+      taskRepo.deleteByAssignmentIds(ids);
+      assignmentRepo.deleteAllByIdInBatch(ids);
+
+      // The archived view is identical to the cached one, only the windowed counts change
+      var students = new HashSet<UUID>();
+      locked.forEach(a -> students.add(a.getStudentId()));
+      students.forEach(cacheInvalidator::studentChanged);
+      return locked.size();
+    });
+    return moved == null ? 0 : moved;
+  }
+}
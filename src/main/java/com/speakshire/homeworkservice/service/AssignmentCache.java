@@ -0,0 +1,99 @@
+package com.speakshire.homeworkservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * In-process cache of full {@link AssignmentDto}s keyed by assignment id, with size and TTL eviction.
+ * Writers evict right away and again after their transaction commits, so a read that raced the write
+ * cannot leave the old state behind. Loads that overlap an eviction of the same id are not stored.
+ */
+@Component
+public class AssignmentCache {
+
+  private final Cache<UUID, AssignmentDto> cache;
+  private final boolean enabled;
+  private final CacheLoadGuard<UUID> loads = new CacheLoadGuard<>();
+
+  public AssignmentCache(MeterRegistry meterRegistry,
+                         @Value("${homework.cache.assignment.enabled:true}") boolean enabled,
+                         @Value("${homework.cache.assignment.max-size:10000}") long maxSize,
+                         @Value("${homework.cache.assignment.ttl:PT10M}") Duration ttl) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "homework.assignments");
+  }
+
+  public AssignmentDto get(UUID id, Function<UUID, AssignmentDto> loader) {
+    if (!enabled) return loader.apply(id);
+    var cached = cache.getIfPresent(id);
+    if (cached != null) return cached;
+    var load = loads.begin(id);
+    AssignmentDto loaded = null;
+    try {
+      loaded = loader.apply(id);
+    } finally {
+      loads.finish(id, load, store(id, loaded));
+    }
+    return loaded;
+  }
+
+  // Bulk form of get: cached entries are used as they are, all misses go to the loader in one call
+  public Map<UUID, AssignmentDto> getAll(Collection<UUID> ids,
+                                         Function<Collection<UUID>, Map<UUID, AssignmentDto>> loader) {
+    if (!enabled) return loader.apply(ids);
+    var result = new HashMap<>(cache.getAllPresent(ids));
+    var misses = ids.stream().filter(id -> !result.containsKey(id)).toList();
+    if (misses.isEmpty()) return result;
+    var started = new HashMap<UUID, Object>();
+    misses.forEach(id -> started.put(id, loads.begin(id)));
+    Map<UUID, AssignmentDto> loaded = Map.of();
+    try {
+      loaded = loader.apply(misses);
+    } finally {
+      // an eviction during the load only drops the evicted ids, the rest of the batch is still cached
+      for (var e : started.entrySet()) {
+        loads.finish(e.getKey(), e.getValue(), store(e.getKey(), loaded.get(e.getKey())));
+      }
+    }
+    result.putAll(loaded);
+    return result;
+  }
+
+  // Stores a freshly created assignment once its transaction has committed
+  public void putAfterCommit(AssignmentDto dto) {
+    if (!enabled || dto == null) return;
+    AfterCommit.run(() -> cache.put(dto.id(), dto));
+  }
+
+  public void evict(UUID id) {
+    if (!enabled) return;
+    invalidate(id);
+    AfterCommit.run(() -> invalidate(id));
+  }
+
+  private Runnable store(UUID id, AssignmentDto dto) {
+    return dto == null ? null : () -> cache.asMap().putIfAbsent(id, dto);
+  }
+
+  private void invalidate(UUID id) {
+    loads.invalidate(id);
+    cache.invalidate(id);
+  }
+}
@@ -0,0 +1,207 @@
+package com.speakshire.homeworkservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.exception.BadRequestException;
+import com.speakshire.homeworkservice.mapper.AssignmentMapper;
+import com.speakshire.homeworkservice.repository.ArchivedAssignmentRepository;
+import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Writes a tutor's full homework history, archived assignments first, as NDJSON (one {@link AssignmentDto} per
+ * line) or CSV (one line per task). Rows are read through database cursors and written as they arrive, so
+ * memory stays flat however long the history is; the read-only transaction stays open for the whole export.
+ * That pins a pooled connection for up to {@code homework.export.timeout}, so at most
+ * {@code homework.export.max-concurrent} exports run per instance; callers reserve a {@link Slot} first.
+ */
+@Component
+public class AssignmentExporter {
+
+  public enum Format {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    public final String contentType;
+    public final String extension;
+
+    Format(String contentType, String extension) {
+      this.contentType = contentType;
+      this.extension = extension;
+    }
+
+    public static Format of(String value) {
+      for (var f : values()) {
+        if (f.name().equalsIgnoreCase(value)) return f;
+      }
+      throw new BadRequestException("Unsupported export format: " + value);
+    }
+  }
+
+  private static final String CSV_HEADER = "assignment_id,teacher_id,student_id,assignment_title,due_at,created_at," +
+          "task_id,ordinal,type,source_kind,task_title,status,progress_pct,started_at,completed_at";
+
+  private final HomeworkAssignmentRepository assignmentRepo;
+  private final ArchivedAssignmentRepository archiveRepo;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnlyTx;
+  private final Semaphore slots;
+  private final Duration timeout;
+
+  public AssignmentExporter(HomeworkAssignmentRepository assignmentRepo,
+                            ArchivedAssignmentRepository archiveRepo,
+                            EntityManager entityManager,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${homework.export.max-concurrent:2}") int maxConcurrent,
+                            @Value("${homework.export.timeout:PT30M}") Duration timeout) {
+    this.assignmentRepo = assignmentRepo;
+    this.archiveRepo = archiveRepo;
+    this.entityManager = entityManager;
+    this.objectMapper = objectMapper;
+    this.readOnlyTx = new TransactionTemplate(transactionManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.slots = new Semaphore(maxConcurrent);
+    this.timeout = timeout;
+  }
+
+  // Async timeout of an export response
+  public Duration timeout() {
+    return timeout;
+  }
+
+  // Empty when max-concurrent exports are already running. The export body starts and closes the slot; the
+  // request abandons it when it ends, which frees the slot only if the body never started.
+  public Optional<Slot> tryReserve() {
+    return slots.tryAcquire() ? Optional.of(new Slot()) : Optional.empty();
+  }
+
+  public final class Slot implements AutoCloseable {
+
+    private static final int RESERVED = 0;
+    private static final int RUNNING = 1;
+    private static final int RELEASED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(RESERVED);
+
+    private Slot() {}
+
+    // False once the slot was abandoned, i.e. the request already ended and nothing may be written
+    public boolean start() {
+      return state.compareAndSet(RESERVED, RUNNING);
+    }
+
+    public void abandon() {
+      if (state.compareAndSet(RESERVED, RELEASED)) slots.release();
+    }
+
+    @Override
+    public void close() {
+      if (state.getAndSet(RELEASED) != RELEASED) slots.release();
+    }
+  }
+
+  public void export(UUID teacherId, Optional<UUID> studentId, Format format, boolean includeArchived,
+                     OutputStream out) throws IOException {
+    var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    if (format == Format.CSV) writer.write(CSV_HEADER + "\n");
+    try {
+      readOnlyTx.executeWithoutResult(status -> {
+        if (includeArchived) {
+          try (var archived = studentId
+                  .map(sid -> archiveRepo.streamForTeacherAndStudent(teacherId, sid))
+                  .orElseGet(() -> archiveRepo.streamForTeacher(teacherId))) {
+            archived.forEach(a -> {
+              write(writer, format, AssignmentMapper.fromArchive(a));
+              // read-only, but still held by the persistence context until detached
+              entityManager.detach(a);
+            });
+          }
+        }
+        try (var rows = studentId
+                .map(sid -> assignmentRepo.streamRowsForTeacherAndStudent(teacherId, sid))
+                .orElseGet(() -> assignmentRepo.streamRowsForTeacher(teacherId))) {
+          writeGrouped(writer, format, rows);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.flush();
+  }
+
+  // Folds consecutive rows of the same assignment into one DTO, keeping only the current assignment in memory
+  private void writeGrouped(Writer writer, Format format, Stream<AssignmentTaskRow> rows) {
+    List<AssignmentTaskRow> current = new ArrayList<>();
+    rows.forEach(r -> {
+      if (!current.isEmpty() && !current.get(0).assignmentId().equals(r.assignmentId())) {
+        write(writer, format, AssignmentMapper.fromRows(current));
+        current.clear();
+      }
+      current.add(r);
+    });
+    if (!current.isEmpty()) write(writer, format, AssignmentMapper.fromRows(current));
+  }
+
+  private void write(Writer writer, Format format, AssignmentDto a) {
+    try {
+      if (format == Format.NDJSON) {
+        writer.write(objectMapper.writeValueAsString(a));
+        writer.write('\n');
+      } else {
+        writeCsv(writer, a);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeCsv(Writer writer, AssignmentDto a) throws IOException {
+    String prefix = String.join(",", str(a.id()), str(a.teacherId()), str(a.studentId()), csv(a.title()),
+            str(a.dueAt()), str(a.createdAt()));
+    if (a.tasks().isEmpty()) {
+      writer.write(prefix + ",,,,,,,,,\n");
+      return;
+    }
+    for (var t : a.tasks()) {
+      writer.write(prefix + "," + String.join(",", str(t.id()), str(t.ordinal()), str(t.type()),
+              str(t.sourceKind()), csv(t.title()), str(t.status()), str(t.progressPct()), str(t.startedAt()),
+              str(t.completedAt())) + "\n");
+    }
+  }
+
+  private static String str(Object value) {
+    return value == null ? "" : value.toString();
+  }
+
+  // RFC 4180 quoting for free text
+  private static String csv(String value) {
+    if (value == null) return "";
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,99 @@
+package com.speakshire.homeworkservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.dto.CacheInvalidationEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Broadcasts cache invalidations to the other replicas over Kafka. Every instance consumes the topic in its own
+ * consumer group, named after the stable {@code homework.instance-id} so restarts reuse it, starting from the
+ * latest offset, and skips the messages it published itself. Sends run on a single background thread: while the
+ * broker is unreachable the producer blocks for up to {@code max.block.ms}, and that must not hold up requests.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "homework.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationBus {
+
+  private final KafkaTemplate<String, String> kafkaTemplate;
+  private final ObjectMapper objectMapper;
+  private final AssignmentCache assignmentCache;
+  private final StudentCountsCache studentCountsCache;
+  private final String topic;
+  private final String groupId;
+  // Per start, unlike the group: tells this process's own messages apart
+  private final String origin = UUID.randomUUID().toString();
+  private final ExecutorService publisher;
+
+  public CacheInvalidationBus(KafkaTemplate<String, String> kafkaTemplate,
+                              ObjectMapper objectMapper,
+                              AssignmentCache assignmentCache,
+                              StudentCountsCache studentCountsCache,
+                              @Value("${homework.cache.invalidation.topic:homework.cache-invalidation}") String topic,
+                              @Value("${homework.instance-id}") String instanceId,
+                              @Value("${homework.cache.invalidation.max-pending:10000}") int maxPending) {
+    this.kafkaTemplate = kafkaTemplate;
+    this.objectMapper = objectMapper;
+    this.assignmentCache = assignmentCache;
+    this.studentCountsCache = studentCountsCache;
+    this.topic = topic;
+    this.groupId = "homework-cache-" + instanceId;
+    this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxPending),
+            Thread.ofPlatform().name("cache-invalidation-publisher").daemon().factory(),
+            (task, executor) -> log.warn("Cache invalidation backlog is full, dropping an invalidation"));
+  }
+
+  public String getGroupId() {
+    return groupId;
+  }
+
+  // Sent after commit; a lost message only costs staleness up to the cache TTL
+  public void publishAfterCommit(UUID studentId, UUID assignmentId) {
+    AfterCommit.run(() -> publisher.execute(() -> {
+      try {
+        var body = objectMapper.writeValueAsString(new CacheInvalidationEvent(origin, studentId, assignmentId));
+        kafkaTemplate.send(topic, studentId.toString(), body).whenComplete((result, ex) -> {
+          if (ex != null) log.warn("Cache invalidation for student {} was not published", studentId, ex);
+        });
+      } catch (JsonProcessingException | RuntimeException e) {
+        log.warn("Cache invalidation for student {} was not published", studentId, e);
+      }
+    }));
+  }
+
+  @PreDestroy
+  void shutdown() throws InterruptedException {
+    publisher.shutdown();
+    publisher.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @KafkaListener(id = "homework-cache-invalidation",
+          topics = "${homework.cache.invalidation.topic:homework.cache-invalidation}",
+          groupId = "#{__listener.groupId}",
+          properties = "auto.offset.reset=latest")
+  public void onInvalidation(String message) {
+    CacheInvalidationEvent event;
+    try {
+      event = objectMapper.readValue(message, CacheInvalidationEvent.class);
+    } catch (JsonProcessingException e) {
+      log.warn("Skipping unreadable cache invalidation {}", message, e);
+      return;
+    }
+    if (origin.equals(event.origin()) || event.studentId() == null) return;
+    if (event.assignmentId() != null) assignmentCache.evict(event.assignmentId());
+    studentCountsCache.evict(event.studentId());
+  }
+}
@@ -0,0 +1,39 @@
+package com.speakshire.homeworkservice.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-key guard against stale cache fills: a load may only store its result if its key was not invalidated
+ * while the load ran. Only keys with a load in flight have an entry, so memory stays bounded, and an eviction
+ * never affects loads of other keys. Concurrent loads of one key share the entry.
+ */
+final class CacheLoadGuard<K> {
+
+  private static final class Load {
+    int pending;
+  }
+
+  private final ConcurrentHashMap<K, Load> inFlight = new ConcurrentHashMap<>();
+
+  Object begin(K key) {
+    return inFlight.compute(key, (k, load) -> {
+      var current = load == null ? new Load() : load;
+      current.pending++;
+      return current;
+    });
+  }
+
+  // Ends a load started by begin. store (may be null) runs only if the key was not invalidated since; it runs
+  // under the same lock as invalidate, so a store can never land after the eviction that should have dropped it.
+  void finish(K key, Object token, Runnable store) {
+    inFlight.computeIfPresent(key, (k, load) -> {
+      if (load != token) return load;
+      if (store != null) store.run();
+      return --load.pending == 0 ? null : load;
+    });
+  }
+
+  void invalidate(K key) {
+    inFlight.remove(key);
+  }
+}
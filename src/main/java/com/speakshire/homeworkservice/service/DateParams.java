@@ -0,0 +1,29 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.exception.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+// Parsing of the from/to listing parameters: ISO-8601 date-time, or a date taken as a whole UTC day
+public final class DateParams {
+
+  private DateParams() {}
+
+  public static OffsetDateTime parseFromDateOrDateTime(String value, boolean endDay) {
+    if (value == null || value.isBlank()) return null;
+    try {
+      if (value.contains("T")) {
+        return OffsetDateTime.parse(value);
+      }
+      // Date-only: start of day UTC
+      LocalDate d = LocalDate.parse(value);
+      return endDay ? d.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1) :
+              d.atStartOfDay().atOffset(ZoneOffset.UTC);
+    } catch (DateTimeParseException e) {
+      throw new BadRequestException("Invalid 'from' value. Use YYYY-MM-DD or ISO8601 date-time.");
+    }
+  }
+}
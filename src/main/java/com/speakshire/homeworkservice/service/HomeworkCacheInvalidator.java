@@ -0,0 +1,30 @@
+package com.speakshire.homeworkservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Single entry point for writers: evicts the local caches and, when enabled, tells the other replicas
+@Component
+@RequiredArgsConstructor
+public class HomeworkCacheInvalidator {
+
+  private final AssignmentCache assignmentCache;
+  private final StudentCountsCache studentCountsCache;
+  private final ObjectProvider<CacheInvalidationBus> bus;
+
+  // The assignment itself changed, which also changes its student's aggregates
+  public void assignmentChanged(UUID assignmentId, UUID studentId) {
+    assignmentCache.evict(assignmentId);
+    studentCountsCache.evict(studentId);
+    bus.ifAvailable(b -> b.publishAfterCommit(studentId, assignmentId));
+  }
+
+  // Only the student's aggregates changed, e.g. a new assignment no replica has cached yet
+  public void studentChanged(UUID studentId) {
+    studentCountsCache.evict(studentId);
+    bus.ifAvailable(b -> b.publishAfterCommit(studentId, null));
+  }
+}
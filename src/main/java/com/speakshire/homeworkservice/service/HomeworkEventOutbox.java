@@ -0,0 +1,85 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.domain.ArchivedAssignment;
+import com.speakshire.homeworkservice.domain.HomeworkAssignment;
+import com.speakshire.homeworkservice.domain.HomeworkEventType;
+import com.speakshire.homeworkservice.domain.HomeworkTask;
+import com.speakshire.homeworkservice.domain.OutboxEvent;
+import com.speakshire.homeworkservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Records lifecycle events in homework_outbox; must run inside the transaction of the change it describes
+@Component
+@RequiredArgsConstructor
+public class HomeworkEventOutbox {
+
+  private final OutboxEventRepository outboxRepo;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentCreated(HomeworkAssignment a) {
+    var payload = new HashMap<String, Object>();
+    payload.put("teacherId", a.getTeacherId());
+    payload.put("title", a.getTitle());
+    payload.put("dueAt", iso(a.getDueAt()));
+    payload.put("lessonId", a.getLessonId());
+    payload.put("totalTasks", a.getTasks().size());
+    append(HomeworkEventType.ASSIGNMENT_CREATED, a.getId(), a.getStudentId(), payload);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentDeleted(HomeworkAssignment a) {
+    append(HomeworkEventType.ASSIGNMENT_DELETED, a.getId(), a.getStudentId(), Map.of("teacherId", a.getTeacherId()));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentDeleted(ArchivedAssignment a) {
+    append(HomeworkEventType.ASSIGNMENT_DELETED, a.getId(), a.getStudentId(), Map.of("teacherId", a.getTeacherId()));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentOverdue(HomeworkAssignment a) {
+    var payload = new HashMap<String, Object>();
+    payload.put("teacherId", a.getTeacherId());
+    payload.put("dueAt", iso(a.getDueAt()));
+    append(HomeworkEventType.ASSIGNMENT_OVERDUE, a.getId(), a.getStudentId(), payload);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void taskStarted(HomeworkTask t) {
+    var payload = new HashMap<String, Object>();
+    payload.put("taskId", t.getId());
+    payload.put("startedAt", iso(t.getStartedAt()));
+    append(HomeworkEventType.TASK_STARTED, t.getAssignment().getId(), t.getAssignment().getStudentId(), payload);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void taskCompleted(HomeworkTask t, boolean assignmentCompleted) {
+    var payload = new HashMap<String, Object>();
+    payload.put("taskId", t.getId());
+    payload.put("completedAt", iso(t.getCompletedAt()));
+    payload.put("assignmentCompleted", assignmentCompleted);
+    append(HomeworkEventType.TASK_COMPLETED, t.getAssignment().getId(), t.getAssignment().getStudentId(), payload);
+  }
+
+  // ISO-8601 like the envelope's occurredAt; the jsonb mapper would otherwise write epoch numbers
+  private static String iso(OffsetDateTime time) {
+    return time == null ? null : time.toString();
+  }
+
+  private void append(HomeworkEventType type, UUID assignmentId, UUID studentId, Map<String, Object> payload) {
+    var event = new OutboxEvent();
+    event.setType(type);
+    event.setAssignmentId(assignmentId);
+    event.setStudentId(studentId);
+    event.setPayload(payload);
+    outboxRepo.save(event);
+  }
+}
@@ -1,30 +1,63 @@
 package com.speakshire.homeworkservice.service;
 
 import com.speakshire.homeworkservice.domain.*;
+import com.speakshire.homeworkservice.dto.AssignmentBatchDto;
 import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.dto.BulkAssignmentResultDto;
+import com.speakshire.homeworkservice.dto.BulkCreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.BulkRecipientDto;
 import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
 import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.dto.CursorPageDto;
 import com.speakshire.homeworkservice.exception.BadRequestException;
 import com.speakshire.homeworkservice.mapper.AssignmentListItemMapper;
 import com.speakshire.homeworkservice.mapper.AssignmentMapper;
+import com.speakshire.homeworkservice.repository.ArchivedAssignmentRepository;
+import com.speakshire.homeworkservice.repository.AssignmentCursor;
+import com.speakshire.homeworkservice.repository.AssignmentListSort;
+import com.speakshire.homeworkservice.repository.AssignmentStatusFilter;
 import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.StudentAssignmentCountsRepository;
 import com.speakshire.homeworkservice.repository.projection.AssignmentListItemProjection;
+import com.speakshire.homeworkservice.repository.projection.AssignmentTaskRow;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class HomeworkService {
 
+  private static final int MAX_SEEK_PAGE_SIZE = 100;
+
   private final HomeworkAssignmentRepository assignmentRepo;
+  private final TransactionTemplate transactionTemplate;
+  private final HomeworkEventOutbox outbox;
+  private final AssignmentCache assignmentCache;
+  private final StudentCountsCache studentCountsCache;
+  private final HomeworkCacheInvalidator cacheInvalidator;
+  private final StudentCountsProjector studentCounts;
+  private final StudentAssignmentCountsRepository countsRepo;
+  private final ArchivedAssignmentRepository archiveRepo;
+  private final MeterRegistry meterRegistry;
+
+  @Value("${homework.bulk.chunk-size:50}")
+  private int bulkChunkSize;
+
+  @Value("${homework.multi-get.max-ids:100}")
+  private int multiGetMaxIds;
 
   @Transactional
   public AssignmentDto createAssignment(UUID teacherId, CreateAssignmentDto dto) {
@@ -32,40 +65,130 @@ public class HomeworkService {
       throw new BadRequestException("At least one task is required");
     }
 
-    // Idempotency
+    // Idempotency, including assignments the archiver has since moved
     if (dto.idempotencyKey() != null && !dto.idempotencyKey().isBlank()) {
       var existing = assignmentRepo.findByTeacherIdAndStudentIdAndIdempotencyKey(
               teacherId, dto.studentId(), dto.idempotencyKey());
       if (existing.isPresent()) return AssignmentMapper.toDto(existing.get());
+      var archived = archiveRepo.findByTeacherIdAndStudentIdAndIdempotencyKey(
+              teacherId, dto.studentId(), dto.idempotencyKey());
+      if (archived.isPresent()) return AssignmentMapper.fromArchive(archived.get());
     }
 
     var assignment = buildHomeworkAssignment(teacherId, dto);
 
-    int ordinal = 1;
-    for (var tDto : dto.tasks()) {
-      var task = new HomeworkTask();
-      // Let Hibernate generate id
-      task.setOrdinal(Optional.ofNullable(tDto.ordinal()).orElse(ordinal++));
-      task.setType(tDto.type());
-      task.setTitle(tDto.title());
-      task.setInstructions(tDto.instructions());
-      task.setSourceKind(tDto.sourceKind());
-      task.setContentRef(Optional.ofNullable(tDto.contentRef()).orElse(Map.of()));
-      task.setStatus(HomeworkTaskStatus.NOT_STARTED);
-      task.setProgressPct(0);
+    var saved = assignmentRepo.save(assignment); // cascades tasks & vocab words
+    outbox.assignmentCreated(saved);
+    studentCounts.assignmentsCreated(List.of(saved.getId()));
+    var created = AssignmentMapper.toDto(saved);
+    assignmentCache.putAfterCommit(created);
+    cacheInvalidator.studentChanged(saved.getStudentId());
+    return created;
+  }
 
-      assignment.addTask(task);
+  /**
+   * Fans one assignment template out to many students. Idempotency keys are resolved in one query against the hot
+   * table and one against the archive, then new assignments are inserted in chunks of
+   * {@code homework.bulk.chunk-size}, each chunk in its own transaction.
+   * When a chunk fails its items are retried one at a time, so only the bad ones are reported as FAILED, with
+   * an error code rather than the exception message. Results follow the request order.
+   */
+  public List<BulkAssignmentResultDto> createAssignmentsBulk(UUID teacherId, BulkCreateAssignmentDto dto) {
+    if (dto.tasks() == null || dto.tasks().isEmpty()) {
+      throw new BadRequestException("At least one task is required");
+    }
 
-      // If VOCAB task, attach vocab rows to the task (cascade persists them)
-      if (task.getType() == HomeworkTaskType.VOCAB && tDto.vocabWordIds() != null) {
-        for (UUID wid : tDto.vocabWordIds()) {
-          task.addVocabWord(wid);
+    var keys = dto.recipients().stream()
+            .map(BulkRecipientDto::idempotencyKey)
+            .filter(k -> k != null && !k.isBlank())
+            .collect(Collectors.toSet());
+    Map<String, UUID> existing = new HashMap<>();
+    if (!keys.isEmpty()) {
+      for (var k : assignmentRepo.findKeysByTeacherIdAndIdempotencyKeyIn(teacherId, keys)) {
+        existing.put(k.getStudentId() + "|" + k.getIdempotencyKey(), k.getId());
+      }
+      for (var k : archiveRepo.findKeysByTeacherIdAndIdempotencyKeyIn(teacherId, keys)) {
+        existing.put(k.getStudentId() + "|" + k.getIdempotencyKey(), k.getId());
+      }
+    }
+
+    var results = new BulkAssignmentResultDto[dto.recipients().size()];
+    var pending = new ArrayList<Integer>();
+    Map<String, Integer> firstInRequest = new HashMap<>();
+    for (int i = 0; i < dto.recipients().size(); i++) {
+      var r = dto.recipients().get(i);
+      boolean keyed = r.idempotencyKey() != null && !r.idempotencyKey().isBlank();
+      String key = r.studentId() + "|" + r.idempotencyKey();
+      if (keyed && existing.containsKey(key)) {
+        results[i] = new BulkAssignmentResultDto(r.studentId(), r.idempotencyKey(), existing.get(key),
+                BulkAssignmentResultDto.Status.EXISTING, null);
+      } else if (!keyed || firstInRequest.putIfAbsent(key, i) == null) {
+        pending.add(i);
+      }
+      // otherwise a repeat within the request, resolved from its first occurrence below
+    }
+
+    for (int from = 0; from < pending.size(); from += bulkChunkSize) {
+      var chunk = pending.subList(from, Math.min(from + bulkChunkSize, pending.size()));
+      try {
+        var saved = insertBulkChunk(teacherId, dto, chunk);
+        for (int j = 0; j < chunk.size(); j++) {
+          results[chunk.get(j)] = created(dto.recipients().get(chunk.get(j)), saved.get(j));
+        }
+      } catch (RuntimeException chunkFailure) {
+        // one bad item rolled back the whole chunk: retry the items one by one so only that one fails
+        log.warn("Bulk chunk of {} assignments failed, retrying item by item", chunk.size(), chunkFailure);
+        for (int i : chunk) {
+          var r = dto.recipients().get(i);
+          try {
+            results[i] = created(r, insertBulkChunk(teacherId, dto, List.of(i)).get(0));
+          } catch (RuntimeException e) {
+            log.warn("Bulk assignment for student {} failed", r.studentId(), e);
+            results[i] = new BulkAssignmentResultDto(r.studentId(), r.idempotencyKey(), null,
+                    BulkAssignmentResultDto.Status.FAILED, errorCode(e));
+          }
         }
       }
     }
 
-    var saved = assignmentRepo.save(assignment); // cascades tasks & vocab words
-    return AssignmentMapper.toDto(saved);
+    for (int i = 0; i < results.length; i++) {
+      if (results[i] == null) {
+        var r = dto.recipients().get(i);
+        var first = results[firstInRequest.get(r.studentId() + "|" + r.idempotencyKey())];
+        var status = first.status() == BulkAssignmentResultDto.Status.FAILED
+                ? BulkAssignmentResultDto.Status.FAILED : BulkAssignmentResultDto.Status.EXISTING;
+        results[i] = new BulkAssignmentResultDto(r.studentId(), r.idempotencyKey(), first.assignmentId(), status, first.error());
+      }
+    }
+    return List.of(results);
+  }
+
+  private List<HomeworkAssignment> insertBulkChunk(UUID teacherId, BulkCreateAssignmentDto dto, List<Integer> chunk) {
+    return transactionTemplate.execute(status -> {
+      var created = assignmentRepo.saveAll(chunk.stream()
+              .map(i -> buildHomeworkAssignment(teacherId, bulkItem(dto, dto.recipients().get(i))))
+              .toList());
+      created.forEach(outbox::assignmentCreated);
+      studentCounts.assignmentsCreated(created.stream().map(HomeworkAssignment::getId).toList());
+      created.forEach(a -> cacheInvalidator.studentChanged(a.getStudentId()));
+      return created;
+    });
+  }
+
+  private static BulkAssignmentResultDto created(BulkRecipientDto r, HomeworkAssignment a) {
+    return new BulkAssignmentResultDto(r.studentId(), r.idempotencyKey(), a.getId(),
+            BulkAssignmentResultDto.Status.CREATED, null);
+  }
+
+  // Exception messages can carry SQL and constraint names, so clients only get a code
+  private static String errorCode(RuntimeException e) {
+    return e instanceof DataIntegrityViolationException
+            ? BulkAssignmentResultDto.CONSTRAINT_VIOLATION : BulkAssignmentResultDto.INTERNAL_ERROR;
+  }
+
+  private CreateAssignmentDto bulkItem(BulkCreateAssignmentDto dto, BulkRecipientDto recipient) {
+    return new CreateAssignmentDto(recipient.studentId(), dto.title(), dto.instructions(), dto.dueAt(),
+            dto.lessonId(), recipient.idempotencyKey(), dto.tasks());
   }
 
   @Transactional(readOnly = true)
@@ -86,29 +209,100 @@ public class HomeworkService {
             hideCompleted,
             sort,
             pageable,
-            (statusVal, range, sorted) -> {
-              boolean useBase = "notFinished".equals(statusVal) || "active".equals(statusVal);
-              if (useBase) {
-                return studentId
-                        .map(sid -> assignmentRepo.listItemsBaseForTeacherAndStudent(teacherId, sid, sorted))
-                        .orElseGet(() -> assignmentRepo.listItemsBaseForTeacher(teacherId, sorted));
-              } else {
-                return studentId
-                        .map(sid -> assignmentRepo.listItemsWithinForTeacherAndStudent(teacherId, sid, range.from(), range.to(), sorted))
-                        .orElseGet(() -> assignmentRepo.listItemsWithinForTeacher(teacherId, range.from(), range.to(), sorted));
-              }
-            }
+            (filter, range, sorted) -> studentId
+                    .map(sid -> assignmentRepo.listItemsForTeacherAndStudent(teacherId, sid,
+                            filter.openInRange(), filter.openAnytime(), filter.overdue(), filter.doneInRange(),
+                            range.from(), range.to(), sorted))
+                    .orElseGet(() -> assignmentRepo.listItemsForTeacher(teacherId,
+                            filter.openInRange(), filter.openAnytime(), filter.overdue(), filter.doneInRange(),
+                            range.from(), range.to(), sorted))
     );
   }
 
-  @Transactional(readOnly = true)
+  // No surrounding transaction: a cache hit does not touch the database at all.
+  // Ids that are not in the hot tables any more are looked up in the archive.
   public AssignmentDto getById(UUID id) {
-    return assignmentRepo.findById(id).map(AssignmentMapper::toDto).orElse(null);
+    return assignmentCache.get(id, key -> {
+      var dto = AssignmentMapper.fromRows(assignmentRepo.findRowsById(key));
+      return dto != null ? dto : archiveRepo.findById(key).map(AssignmentMapper::fromArchive).orElse(null);
+    });
+  }
+
+  /**
+   * Multi-get of full assignments, e.g. for a dashboard of cards. Cached ones are served from the cache and
+   * all others come from one statement over the hot tables, plus one over the archive for the ids still
+   * unknown. Results follow the request order; duplicates are returned once.
+   */
+  public AssignmentBatchDto getByIds(List<UUID> ids) {
+    if (ids.size() > multiGetMaxIds) {
+      throw new BadRequestException("At most " + multiGetMaxIds + " ids per request");
+    }
+    var distinct = new LinkedHashSet<>(ids);
+    var found = assignmentCache.getAll(distinct, this::loadAssignments);
+    var assignments = new ArrayList<AssignmentDto>(found.size());
+    var missing = new ArrayList<UUID>();
+    for (var id : distinct) {
+      var dto = found.get(id);
+      if (dto != null) assignments.add(dto);
+      else missing.add(id);
+    }
+    return new AssignmentBatchDto(assignments, missing);
+  }
+
+  // Hot rows and the archive fallback on one connection in one read-only transaction, not two auto-commits
+  private Map<UUID, AssignmentDto> loadAssignments(Collection<UUID> ids) {
+    var readOnlyTx = new TransactionTemplate(transactionTemplate.getTransactionManager());
+    readOnlyTx.setReadOnly(true);
+    return readOnlyTx.execute(status -> {
+      var result = new HashMap<UUID, AssignmentDto>();
+      assignmentRepo.findRowsByIdIn(ids).stream()
+              .collect(Collectors.groupingBy(AssignmentTaskRow::assignmentId))
+              .forEach((id, rows) -> result.put(id, AssignmentMapper.fromRows(rows)));
+      var notHot = ids.stream().filter(id -> !result.containsKey(id)).toList();
+      if (!notHot.isEmpty()) {
+        archiveRepo.findAllById(notHot).forEach(a -> result.put(a.getId(), AssignmentMapper.fromArchive(a)));
+      }
+      return result;
+    });
   }
 
   @Transactional
   public void deleteAssignment(UUID assignmentId) {
-    assignmentRepo.deleteById(assignmentId);
+    // locked, so a task completion committing concurrently is either fully counted in or waits for the delete
+    var hot = assignmentRepo.findByIdForUpdate(assignmentId);
+    hot.ifPresent(a -> {
+      outbox.assignmentDeleted(a);
+      studentCounts.assignmentDeleted(a);
+      assignmentRepo.delete(a);
+      cacheInvalidator.assignmentChanged(assignmentId, a.getStudentId());
+    });
+    if (hot.isPresent()) return;
+    archiveRepo.findById(assignmentId).ifPresent(a -> {
+      outbox.assignmentDeleted(a);
+      archiveRepo.delete(a);
+      cacheInvalidator.assignmentChanged(assignmentId, a.getStudentId());
+    });
+  }
+
+  /**
+   * History of a student: assignments moved to the archive by {@link AssignmentArchiver}, newest first.
+   * The regular listings never read the archive.
+   */
+  @Transactional(readOnly = true)
+  public Page<AssignmentListItemDto> listStudentArchive(UUID studentId, Pageable pageable) {
+    return archiveRepo.listItemsForStudent(studentId, archivePageable(pageable));
+  }
+
+  @Transactional(readOnly = true)
+  public Page<AssignmentListItemDto> listTutorArchive(UUID teacherId, Optional<UUID> studentId, Pageable pageable) {
+    return studentId
+            .map(sid -> archiveRepo.listItemsForTeacherAndStudent(teacherId, sid, archivePageable(pageable)))
+            .orElseGet(() -> archiveRepo.listItemsForTeacher(teacherId, archivePageable(pageable)));
+  }
+
+  private Pageable archivePageable(Pageable pageable) {
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+            Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")));
   }
 
   @Transactional(readOnly = true)
@@ -128,12 +322,9 @@ public class HomeworkService {
             hideCompleted,
             sort,
             pageable,
-            (statusVal, range, sorted) -> {
-              if ("notFinished".equals(statusVal) || "active".equals(statusVal)) {
-                return assignmentRepo.listItemsBase(studentId, sorted);
-              }
-              return assignmentRepo.listItemsWithin(studentId, range.from(), range.to(), sorted);
-            }
+            (filter, range, sorted) -> assignmentRepo.listItemsForStudent(studentId,
+                    filter.openInRange(), filter.openAnytime(), filter.overdue(), filter.doneInRange(),
+                    range.from(), range.to(), sorted)
     );
   }
 
@@ -153,7 +344,7 @@ public class HomeworkService {
 
   @FunctionalInterface
   private interface ProjectionLoader {
-    Page<AssignmentListItemProjection> load(String statusVal, DateRange range, Pageable sorted);
+    Page<AssignmentListItemProjection> load(AssignmentStatusFilter filter, DateRange range, Pageable sorted);
   }
 
   private Page<AssignmentListItemDto> listAssignmentsCommon(String status,
@@ -164,8 +355,8 @@ public class HomeworkService {
                                                             String sort,
                                                             Pageable pageable,
                                                             ProjectionLoader loader) {
-    OffsetDateTime from = parseFromDateOrDateTime(fromDate, false);
-    OffsetDateTime to = parseFromDateOrDateTime(toDate, true);
+    OffsetDateTime from = DateParams.parseFromDateOrDateTime(fromDate, false);
+    OffsetDateTime to = DateParams.parseFromDateOrDateTime(toDate, true);
 
     String statusVal = (status == null) ? "active" : status;
     String sortVal = (sort == null) ? "assigned_desc" : sort;
@@ -174,25 +365,92 @@ public class HomeworkService {
     DateRange range = resolveDateRange(from, to, now);
     Pageable sorted = buildSortedPageable(pageable, sortVal);
 
-    Page<AssignmentListItemProjection> projections = loader.load(statusVal, range, sorted);
-
-    var mapped = projections.map(p -> AssignmentListItemMapper.fromProjection(p, now));
+    // Status rules are applied by the query itself so pages are full and totals exact
+    var filter = AssignmentStatusFilter.of(statusVal, includeOverdue, hideCompleted);
+    Page<AssignmentListItemProjection> projections = loader.load(filter, range, sorted);
+    // OFFSET still reads the skipped rows, capped by how many exist
+    int skipped = (int) Math.min(sorted.getOffset(), projections.getTotalElements());
+    recordListRows("page", skipped + projections.getNumberOfElements(), projections.getNumberOfElements());
 
-    var filtered = mapped.stream()
-            .filter(item -> matchesStatus(item, statusVal, range, includeOverdue, hideCompleted))
-            .toList();
+    return projections.map(p -> AssignmentListItemMapper.fromProjection(p));
+  }
 
-    return new PageImpl<>(filtered, sorted, filtered.size());
+  // Rows a listing read from the database against the rows it answered with; the difference is filter waste
+  private void recordListRows(String view, int loaded, int returned) {
+    meterRegistry.counter("homework.list.rows.loaded", "view", view).increment(loaded);
+    meterRegistry.counter("homework.list.rows.returned", "view", view).increment(returned);
   }
 
   private Pageable buildSortedPageable(Pageable pageable, String sortVal) {
-    Sort sorting = switch (sortVal) {
-      case "assigned_asc" -> Sort.by(Sort.Direction.ASC, "createdAt");
-      case "due_asc" -> Sort.by(Sort.Direction.ASC, "dueAt");
-      case "due_desc" -> Sort.by(Sort.Direction.DESC, "dueAt");
-      default -> Sort.by(Sort.Direction.DESC, "createdAt");
-    };
-    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sorting);
+    return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), AssignmentListSort.of(sortVal).toSort());
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPageDto<AssignmentListItemDto> seekStudentAssignments(UUID studentId,
+                                                                     String status,
+                                                                     String fromDate,
+                                                                     String toDate,
+                                                                     boolean includeOverdue,
+                                                                     boolean hideCompleted,
+                                                                     String sort,
+                                                                     String cursor,
+                                                                     int size) {
+    return seekAssignmentsCommon(null, studentId, status, fromDate, toDate, includeOverdue, hideCompleted, sort, cursor, size);
+  }
+
+  @Transactional(readOnly = true)
+  public CursorPageDto<AssignmentListItemDto> seekTutorAssignments(UUID teacherId,
+                                                                   Optional<UUID> studentId,
+                                                                   String status,
+                                                                   String fromDate,
+                                                                   String toDate,
+                                                                   boolean includeOverdue,
+                                                                   boolean hideCompleted,
+                                                                   String sort,
+                                                                   String cursor,
+                                                                   int size) {
+    return seekAssignmentsCommon(teacherId, studentId.orElse(null), status, fromDate, toDate,
+            includeOverdue, hideCompleted, sort, cursor, size);
+  }
+
+  private CursorPageDto<AssignmentListItemDto> seekAssignmentsCommon(UUID teacherId,
+                                                                     UUID studentId,
+                                                                     String status,
+                                                                     String fromDate,
+                                                                     String toDate,
+                                                                     boolean includeOverdue,
+                                                                     boolean hideCompleted,
+                                                                     String sort,
+                                                                     String cursor,
+                                                                     int size) {
+    OffsetDateTime from = DateParams.parseFromDateOrDateTime(fromDate, false);
+    OffsetDateTime to = DateParams.parseFromDateOrDateTime(toDate, true);
+
+    String statusVal = (status == null) ? "active" : status;
+    AssignmentListSort sortVal = AssignmentListSort.of(sort);
+    AssignmentCursor after = (cursor == null || cursor.isBlank()) ? null : AssignmentCursor.decode(cursor, sortVal);
+    int limit = Math.min(Math.max(size, 1), MAX_SEEK_PAGE_SIZE);
+
+    OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    DateRange range = resolveDateRange(from, to, now);
+    var filter = AssignmentStatusFilter.of(statusVal, includeOverdue, hideCompleted);
+
+    // One extra row tells whether a next page exists without a count query
+    var rows = assignmentRepo.seekListItems(teacherId, studentId, filter, range.from(), range.to(),
+            sortVal, after, limit + 1);
+    boolean hasMore = rows.size() > limit;
+    var items = rows.stream().limit(limit)
+            .map(p -> AssignmentListItemMapper.fromProjection(p))
+            .toList();
+    recordListRows("seek", rows.size(), items.size());
+
+    String next = null;
+    if (hasMore) {
+      var last = items.get(items.size() - 1);
+      var key = sortVal.nullable() ? last.dueAt() : last.createdAt();
+      next = new AssignmentCursor(sortVal, key, last.id()).encode();
+    }
+    return new CursorPageDto<>(items, next);
   }
 
   private DateRange resolveDateRange(OffsetDateTime from, OffsetDateTime to, OffsetDateTime now) {
@@ -211,77 +469,39 @@ public class HomeworkService {
     return new DateRange(fromVal, toVal);
   }
 
-  private boolean matchesStatus(AssignmentListItemDto item,
-                                       String statusVal,
-                                       DateRange range,
-                                       boolean includeOverdue,
-                                       boolean hideCompleted) {
-    boolean isCompleted = item.completed();
-    boolean isOverdue = item.overdue();
-    boolean inRange = !(item.createdAt().isBefore(range.from()) || item.createdAt().isAfter(range.to()));
-    switch (statusVal) {
-      case "notFinished":
-        return !isCompleted;
-      case "completed":
-        return inRange && isCompleted;
-      case "all":
-        return inRange;
-      case "active":
-      default:
-        boolean base = !isCompleted && inRange;
-        if (includeOverdue && isOverdue) base = true;
-        if (hideCompleted) return base;
-        return base || (inRange && isCompleted);
-    }
-  }
-
   private record DateRange(OffsetDateTime from, OffsetDateTime to) {}
 
-  @Transactional(readOnly = true)
   public Map<String, Long> countStudentAssignments(UUID studentId,
                                                    String fromDate,
                                                    String toDate,
                                                    boolean includeOverdue) {
-    OffsetDateTime from = parseFromDateOrDateTime(fromDate, false);
-    OffsetDateTime to = parseFromDateOrDateTime(toDate, true);
-    OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-    if (from == null || to == null) {
-      if (from == null && to == null) {
-        to = now;
-        from = now.minusDays(7);
-      } else if (from == null) {
-        from = to.minusDays(7);
-      } else {
-        to = from.plusDays(7);
-      }
-    }
-
-    // Load base and ranged projections
-    var basePage = assignmentRepo.listItemsBase(studentId, Pageable.unpaged());
-    var withinPage = assignmentRepo.listItemsWithin(studentId, from, to, Pageable.unpaged());
+    return studentCountsCache.get(studentId, fromDate + "|" + toDate + "|" + includeOverdue,
+            () -> loadStudentCounts(studentId, fromDate, toDate, includeOverdue));
+  }
 
-    var allItems = basePage.map(p -> AssignmentListItemMapper.fromProjection(p, now)).getContent();
-    var rangedItems = withinPage.map(p -> AssignmentListItemMapper.fromProjection(p, now)).getContent();
+  private Map<String, Long> loadStudentCounts(UUID studentId, String fromDate, String toDate, boolean includeOverdue) {
+    OffsetDateTime from = DateParams.parseFromDateOrDateTime(fromDate, false);
+    OffsetDateTime to = DateParams.parseFromDateOrDateTime(toDate, true);
+    OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    DateRange range = resolveDateRange(from, to, now);
 
-    long notFinished = allItems.stream().filter(i -> !i.completed()).count();
-    long completed = rangedItems.stream().filter(AssignmentListItemDto::completed).count();
-    long all = rangedItems.size();
-    long overdue = allItems.stream().filter(AssignmentListItemDto::overdue).count();
-
-    // active = not finished within range + all overdue (optionally outside range)
-    Set<UUID> activeIds = new HashSet<>();
-    rangedItems.stream().filter(i -> !i.completed()).forEach(i -> activeIds.add(i.id()));
-    if (includeOverdue) {
-      allItems.stream().filter(AssignmentListItemDto::overdue).forEach(i -> activeIds.add(i.id()));
-    }
-    long active = activeIds.size();
+    // notFinished and overdue span all time and come from the read model by primary key. The other three depend
+    // on the requested window, which no per-student row can hold, so they are one count over the rows created in
+    // it; active adds the overdue ones outside the window from the row.
+    var row = countsRepo.findById(studentId);
+    long notFinished = row.map(c -> (long) c.getNotFinished())
+            .orElseGet(() -> assignmentRepo.countNotFinishedByStudentId(studentId));
+    long overdue = row.map(c -> (long) c.getOverdue())
+            .orElseGet(() -> assignmentRepo.countOverdueByStudentId(studentId));
+    var window = assignmentRepo.countsForStudent(studentId, range.from(), range.to());
+    long active = window.getOpenInRange() + (includeOverdue ? overdue - window.getOverdueInRange() : 0);
 
     Map<String, Long> map = new LinkedHashMap<>();
     map.put("notFinished", notFinished);
-    map.put("completed", completed);
+    map.put("completed", window.getCompleted());
     map.put("overdue", overdue);
     map.put("active", active);
-    map.put("all", all);
+    map.put("all", window.getAllInRange());
     return map;
   }
 
@@ -294,22 +514,30 @@ public class HomeworkService {
     assignment.setDueAt(dto.dueAt());
     assignment.setLessonId(dto.lessonId());
     assignment.setIdempotencyKey(dto.idempotencyKey());
-    return assignment;
-  }
 
-  private OffsetDateTime parseFromDateOrDateTime(String value, boolean endDay) {
-    if (value == null || value.isBlank()) return null;
-    try {
-      if (value.contains("T")) {
-        return OffsetDateTime.parse(value);
+    int ordinal = 1;
+    for (var tDto : dto.tasks()) {
+      var task = new HomeworkTask();
+      // Let Hibernate generate id
+      task.setOrdinal(Optional.ofNullable(tDto.ordinal()).orElse(ordinal++));
+      task.setType(tDto.type());
+      task.setTitle(tDto.title());
+      task.setInstructions(tDto.instructions());
+      task.setSourceKind(tDto.sourceKind());
+      task.setContentRef(Optional.ofNullable(tDto.contentRef()).orElse(Map.of()));
+      task.setStatus(HomeworkTaskStatus.NOT_STARTED);
+      task.setProgressPct(0);
+
+      assignment.addTask(task);
+
+      // If VOCAB task, attach vocab rows to the task (cascade persists them)
+      if (task.getType() == HomeworkTaskType.VOCAB && tDto.vocabWordIds() != null) {
+        for (UUID wid : tDto.vocabWordIds()) {
+          task.addVocabWord(wid);
+        }
       }
-      // Date-only: start of day UTC
-      LocalDate d = LocalDate.parse(value);
-      return endDay ? d.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusNanos(1) :
-              d.atStartOfDay().atOffset(ZoneOffset.UTC);
-    } catch (DateTimeParseException e) {
-      throw new BadRequestException("Invalid 'from' value. Use YYYY-MM-DD or ISO8601 date-time.");
     }
+    return assignment;
   }
 
 }
@@ -0,0 +1,97 @@
+package com.speakshire.homeworkservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.domain.OutboxEvent;
+import com.speakshire.homeworkservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains homework_outbox into Kafka. Each batch is locked with SKIP LOCKED, sent keyed by studentId,
+ * and deleted only after the broker acknowledged every record, so delivery is at-least-once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "homework.outbox.relay.enabled", havingValue = "true")
+public class OutboxRelay {
+
+  private final OutboxEventRepository outboxRepo;
+  private final KafkaTemplate<String, String> kafkaTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final String topic;
+  private final int batchSize;
+
+  public OutboxRelay(OutboxEventRepository outboxRepo,
+                     KafkaTemplate<String, String> kafkaTemplate,
+                     TransactionTemplate transactionTemplate,
+                     ObjectMapper objectMapper,
+                     @Value("${homework.events.topic:homework.events}") String topic,
+                     @Value("${homework.outbox.relay.batch-size:100}") int batchSize) {
+    this.outboxRepo = outboxRepo;
+    this.kafkaTemplate = kafkaTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.topic = topic;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${homework.outbox.relay.interval-ms:1000}")
+  public void relay() {
+    try {
+      int sent;
+      do {
+        sent = relayBatch();
+      } while (sent == batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Outbox relay failed, will retry", e);
+    }
+  }
+
+  int relayBatch() {
+    Integer sent = transactionTemplate.execute(status -> {
+      var events = outboxRepo.lockNextBatch(PageRequest.of(0, batchSize));
+      if (events.isEmpty()) return 0;
+      var acks = new ArrayList<CompletableFuture<SendResult<String, String>>>(events.size());
+      for (var e : events) {
+        acks.add(kafkaTemplate.send(topic, e.getStudentId().toString(), toJson(e)));
+      }
+      try {
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+      } catch (Exception ex) {
+        throw new IllegalStateException("Kafka did not acknowledge outbox batch", ex);
+      }
+      outboxRepo.deleteAllInBatch(events);
+      return events.size();
+    });
+    return sent == null ? 0 : sent;
+  }
+
+  private String toJson(OutboxEvent e) {
+    var message = new LinkedHashMap<String, Object>();
+    message.put("id", e.getId());
+    message.put("type", e.getType());
+    message.put("assignmentId", e.getAssignmentId());
+    message.put("studentId", e.getStudentId());
+    message.put("occurredAt", e.getCreatedAt());
+    message.put("payload", e.getPayload());
+    try {
+      return objectMapper.writeValueAsString(message);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Cannot serialize outbox event " + e.getId(), ex);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.speakshire.homeworkservice.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Coalesced progress pings for one task: highest progressPct wins, later meta keys override earlier ones
+record PendingProgress(UUID taskId, UUID studentId, Integer progressPct, Map<String, Object> meta) {
+
+  PendingProgress merge(PendingProgress later) {
+    Integer pct = progressPct == null ? later.progressPct
+            : later.progressPct == null ? progressPct
+            : Integer.valueOf(Math.max(progressPct, later.progressPct));
+    Map<String, Object> merged = new HashMap<>();
+    if (meta != null) merged.putAll(meta);
+    if (later.meta != null) merged.putAll(later.meta);
+    return new PendingProgress(taskId, studentId, pct, merged);
+  }
+}
@@ -0,0 +1,74 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskStatus;
+import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.HomeworkTaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a batch of coalesced progress pings in one transaction: one locking select for all tasks, one plain
+ * select for their assignments, JDBC-batched task updates at flush and one counter update per touched assignment.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProgressBatchWriter {
+
+  private final HomeworkTaskRepository taskRepo;
+  private final HomeworkAssignmentRepository assignmentRepo;
+  private final HomeworkCacheInvalidator cacheInvalidator;
+  private final HomeworkEventOutbox outbox;
+
+  @Transactional
+  public void apply(Collection<PendingProgress> batch) {
+    if (batch.isEmpty()) return;
+    // merged per task and sender, so a ping from someone else can never ride along with the owner's
+    Map<UUID, Map<UUID, PendingProgress>> byTask = new HashMap<>();
+    for (var ping : batch) {
+      byTask.computeIfAbsent(ping.taskId(), id -> new HashMap<>())
+              .merge(ping.studentId(), ping, PendingProgress::merge);
+    }
+
+    var tasks = taskRepo.findAllByIdForUpdate(byTask.keySet());
+    // Unlocked; loads the owners in one statement instead of one lazy load per assignment
+    assignmentRepo.findAllById(tasks.stream().map(t -> t.getAssignment().getId()).collect(Collectors.toSet()));
+
+    // Sorted, so the counter updates below lock assignment rows in the same order in every batch
+    Map<UUID, TaskCounterDelta> byAssignment = new TreeMap<>();
+    Map<UUID, UUID> owners = new HashMap<>();
+    for (var task : tasks) {
+      var pings = byTask.get(task.getId());
+      var owner = task.getAssignment().getStudentId();
+      var ping = pings.get(owner);
+      if (pings.size() > (ping == null ? 0 : 1)) {
+        log.warn("Dropping progress for task {} from non-owners {}", task.getId(),
+                pings.keySet().stream().filter(s -> !s.equals(owner)).toList());
+      }
+      if (ping == null) continue;
+      var prevStatus = task.getStatus();
+      int prevProgress = task.getProgressPct();
+      task.applyProgress(ping.progressPct(), ping.meta());
+      if (prevStatus == HomeworkTaskStatus.NOT_STARTED) outbox.taskStarted(task);
+      byAssignment.merge(task.getAssignment().getId(),
+              TaskCounterDelta.between(prevStatus, prevProgress, task), TaskCounterDelta::plus);
+      owners.put(task.getAssignment().getId(), owner);
+    }
+
+    owners.forEach(cacheInvalidator::assignmentChanged);
+    byAssignment.forEach((assignmentId, delta) -> {
+      if (!delta.isZero()) {
+        assignmentRepo.applyTaskDelta(assignmentId, delta.completed(), delta.inProgress(), delta.progress());
+      }
+    });
+  }
+}
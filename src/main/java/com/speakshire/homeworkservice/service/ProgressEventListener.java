@@ -0,0 +1,64 @@
+package com.speakshire.homeworkservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.dto.ProgressEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingests player progress pings from Kafka. Each poll is merged per task and written by {@link ProgressBatchWriter}
+ * in one transaction; the container commits the offsets only after the listener returns, i.e. after the DB commit.
+ * A failed write is retried by the container's error handler, which is safe because progress only moves forward.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "homework.progress.kafka.enabled", havingValue = "true")
+public class ProgressEventListener {
+
+  private final ProgressBatchWriter writer;
+  private final ObjectMapper objectMapper;
+
+  @KafkaListener(topics = "${homework.progress.kafka.topic:homework.progress}",
+          groupId = "${homework.progress.kafka.group-id:homework-service-progress}",
+          batch = "true")
+  public void onProgress(List<ConsumerRecord<String, String>> records) {
+    var batch = new ArrayList<PendingProgress>(records.size());
+    for (var record : records) {
+      var event = parse(record);
+      if (event != null) {
+        batch.add(new PendingProgress(event.taskId(), event.studentId(), event.progressPct(), event.meta()));
+      }
+    }
+    writer.apply(batch);
+  }
+
+  // Malformed pings are logged and skipped so they cannot block the partition
+  private ProgressEventDto parse(ConsumerRecord<String, String> record) {
+    try {
+      var event = objectMapper.readValue(record.value(), ProgressEventDto.class);
+      if (event.taskId() == null || event.studentId() == null) {
+        log.warn("Skipping progress event at {}-{}@{}: taskId and studentId are required",
+                record.topic(), record.partition(), record.offset());
+        return null;
+      }
+      if (event.progressPct() != null && (event.progressPct() < 0 || event.progressPct() > 100)) {
+        log.warn("Skipping progress event at {}-{}@{}: progressPct {} out of range",
+                record.topic(), record.partition(), record.offset(), event.progressPct());
+        return null;
+      }
+      return event;
+    } catch (JsonProcessingException | IllegalArgumentException e) {
+      log.warn("Skipping unreadable progress event at {}-{}@{}", record.topic(), record.partition(), record.offset(), e);
+      return null;
+    }
+  }
+}
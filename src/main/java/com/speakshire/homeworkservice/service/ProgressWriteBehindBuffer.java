@@ -0,0 +1,91 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.dto.ProgressDto;
+import com.speakshire.homeworkservice.exception.ForbiddenException;
+import com.speakshire.homeworkservice.exception.NotFoundException;
+import com.speakshire.homeworkservice.repository.HomeworkTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional write-behind for progress heartbeats. Pings are coalesced per task in memory and flushed in batches
+ * on a short interval, before any start/complete/progress write of the same task, and on shutdown.
+ * When disabled, or when the buffer is full, pings are written synchronously.
+ */
+@Slf4j
+@Component
+public class ProgressWriteBehindBuffer {
+
+  private final ProgressBatchWriter writer;
+  private final HomeworkTaskRepository taskRepo;
+  private final boolean enabled;
+  private final int maxPending;
+  private final int batchSize;
+  private final Map<UUID, PendingProgress> pending = new ConcurrentHashMap<>();
+
+  public ProgressWriteBehindBuffer(ProgressBatchWriter writer,
+                                   HomeworkTaskRepository taskRepo,
+                                   @Value("${homework.progress.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${homework.progress.write-behind.max-pending:10000}") int maxPending,
+                                   @Value("${homework.progress.write-behind.batch-size:200}") int batchSize) {
+    this.writer = writer;
+    this.taskRepo = taskRepo;
+    this.enabled = enabled;
+    this.maxPending = maxPending;
+    this.batchSize = batchSize;
+  }
+
+  public void submit(UUID taskId, UUID studentId, ProgressDto body) {
+    var owner = taskRepo.findStudentIdById(taskId)
+            .orElseThrow(() -> new NotFoundException("Task not found"));
+    if (!owner.equals(studentId)) {
+      throw new ForbiddenException("You are not the owner of this task");
+    }
+    var ping = new PendingProgress(taskId, studentId, body.progressPct(), body.meta());
+    if (!enabled || (pending.size() >= maxPending && !pending.containsKey(taskId))) {
+      writer.apply(List.of(ping));
+      return;
+    }
+    pending.merge(taskId, ping, PendingProgress::merge);
+  }
+
+  // Writes the buffered pings of one task, joining the caller's transaction if there is one
+  public void flush(UUID taskId) {
+    var ping = pending.remove(taskId);
+    if (ping != null) writer.apply(List.of(ping));
+  }
+
+  @Scheduled(fixedDelayString = "${homework.progress.write-behind.flush-interval-ms:500}")
+  public void flushPending() {
+    var taskIds = new ArrayList<>(pending.keySet());
+    for (int i = 0; i < taskIds.size(); i += batchSize) {
+      var batch = new ArrayList<PendingProgress>(batchSize);
+      for (var taskId : taskIds.subList(i, Math.min(i + batchSize, taskIds.size()))) {
+        var ping = pending.remove(taskId);
+        if (ping != null) batch.add(ping);
+      }
+      try {
+        writer.apply(batch);
+      } catch (RuntimeException e) {
+        log.warn("Progress flush of {} tasks failed, re-queueing", batch.size(), e);
+        // Newer pings that arrived meanwhile take precedence over the re-queued ones
+        batch.forEach(p -> pending.merge(p.taskId(), p, (newer, older) -> older.merge(newer)));
+        return;
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    flushPending();
+  }
+}
@@ -0,0 +1,69 @@
+package com.speakshire.homeworkservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-student cache of the counts endpoint, one entry per student holding every requested range.
+ * Writes and the overdue sweeper evict the whole student; the TTL only bounds staleness from missed invalidations.
+ */
+@Component
+public class StudentCountsCache {
+
+  private final Cache<UUID, Map<String, Map<String, Long>>> cache;
+  private final boolean enabled;
+  // a write for one student only discards in-flight loads of that student
+  private final CacheLoadGuard<UUID> loads = new CacheLoadGuard<>();
+
+  public StudentCountsCache(MeterRegistry meterRegistry,
+                            @Value("${homework.cache.student-counts.enabled:true}") boolean enabled,
+                            @Value("${homework.cache.student-counts.max-size:10000}") long maxSize,
+                            @Value("${homework.cache.student-counts.ttl:PT30S}") Duration ttl) {
+    this.enabled = enabled;
+    this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "homework.student-counts");
+  }
+
+  public Map<String, Long> get(UUID studentId, String key, Supplier<Map<String, Long>> loader) {
+    if (!enabled) return loader.get();
+    var perStudent = cache.getIfPresent(studentId);
+    var cached = perStudent == null ? null : perStudent.get(key);
+    if (cached != null) return cached;
+    var load = loads.begin(studentId);
+    Map<String, Long> loaded = null;
+    try {
+      loaded = Collections.unmodifiableMap(loader.get());
+    } finally {
+      var result = loaded;
+      loads.finish(studentId, load, result == null ? null
+              : () -> cache.get(studentId, id -> new ConcurrentHashMap<>()).putIfAbsent(key, result));
+    }
+    return loaded;
+  }
+
+  public void evict(UUID studentId) {
+    if (!enabled) return;
+    invalidate(studentId);
+    AfterCommit.run(() -> invalidate(studentId));
+  }
+
+  private void invalidate(UUID studentId) {
+    loads.invalidate(studentId);
+    cache.invalidate(studentId);
+  }
+}
@@ -0,0 +1,51 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.domain.HomeworkAssignment;
+import com.speakshire.homeworkservice.repository.StudentAssignmentCountsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Keeps student_assignment_counts in step with assignment writes. Runs inside the writer's transaction;
+ * every change is a relative update, so concurrent writers for the same student never lose an increment.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentCountsProjector {
+
+  private final StudentAssignmentCountsRepository countsRepo;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentsCreated(Collection<UUID> assignmentIds) {
+    if (assignmentIds.isEmpty()) return;
+    countsRepo.ensureRowsForAssignments(assignmentIds);
+    countsRepo.addCreatedAssignments(assignmentIds);
+  }
+
+  // a must be locked (HomeworkAssignmentRepository#findByIdForUpdate): its counters and past-due flag decide what
+  // drops. Completed assignments are in neither total, which is also why archiving and deleting archived ones
+  // leave the row alone.
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentDeleted(HomeworkAssignment a) {
+    boolean completed = a.getTotalTasks() > 0 && a.getCompletedTasks().equals(a.getTotalTasks());
+    if (completed) return;
+    countsRepo.applyDelta(a.getStudentId(), -1, Boolean.TRUE.equals(a.getPastDue()) ? -1 : 0);
+  }
+
+  // pastDue must be read while holding the assignment row, which keeps the sweeper from flagging it meanwhile
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentCompleted(UUID studentId, boolean pastDue) {
+    countsRepo.applyDelta(studentId, -1, pastDue ? -1 : 0);
+  }
+
+  // Unfinished assignments of one student the sweeper just flagged
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void assignmentsOverdue(UUID studentId, int count) {
+    countsRepo.applyDelta(studentId, 0, count);
+  }
+}
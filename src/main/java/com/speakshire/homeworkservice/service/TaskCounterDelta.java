@@ -0,0 +1,28 @@
+package com.speakshire.homeworkservice.service;
+
+import com.speakshire.homeworkservice.domain.HomeworkTask;
+import com.speakshire.homeworkservice.domain.HomeworkTaskStatus;
+
+// Change of the assignment task counters caused by one or more task transitions
+record TaskCounterDelta(int completed, int inProgress, int progress) {
+
+  static TaskCounterDelta between(HomeworkTaskStatus prevStatus, int prevProgress, HomeworkTask task) {
+    return new TaskCounterDelta(
+            flag(task.getStatus() == HomeworkTaskStatus.COMPLETED) - flag(prevStatus == HomeworkTaskStatus.COMPLETED),
+            flag(task.getStatus() == HomeworkTaskStatus.IN_PROGRESS) - flag(prevStatus == HomeworkTaskStatus.IN_PROGRESS),
+            task.getProgressPct() - prevProgress
+    );
+  }
+
+  TaskCounterDelta plus(TaskCounterDelta other) {
+    return new TaskCounterDelta(completed + other.completed, inProgress + other.inProgress, progress + other.progress);
+  }
+
+  boolean isZero() {
+    return completed == 0 && inProgress == 0 && progress == 0;
+  }
+
+  private static int flag(boolean value) {
+    return value ? 1 : 0;
+  }
+}
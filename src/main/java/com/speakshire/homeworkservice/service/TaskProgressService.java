@@ -1,9 +1,11 @@
 package com.speakshire.homeworkservice.service;
 
+import com.speakshire.homeworkservice.domain.HomeworkAssignment;
 import com.speakshire.homeworkservice.domain.HomeworkTask;
 import com.speakshire.homeworkservice.domain.HomeworkTaskStatus;
 import com.speakshire.homeworkservice.dto.ProgressDto;
 import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.dto.TaskProgressDeltaDto;
 import com.speakshire.homeworkservice.exception.ForbiddenException;
 import com.speakshire.homeworkservice.exception.NotFoundException;
 import com.speakshire.homeworkservice.mapper.AssignmentMapper;
@@ -24,9 +26,13 @@ public class TaskProgressService {
 
   private final HomeworkTaskRepository taskRepo;
   private final HomeworkAssignmentRepository assignmentRepo;
+  private final ProgressWriteBehindBuffer writeBehind;
+  private final HomeworkEventOutbox outbox;
+  private final HomeworkCacheInvalidator cacheInvalidator;
+  private final StudentCountsProjector studentCounts;
 
   private HomeworkTask loadTaskEnsureStudent(UUID taskId, UUID studentId) {
-    var task = taskRepo.findById(taskId)
+    var task = taskRepo.findByIdForUpdate(taskId)
             .orElseThrow(() -> new NotFoundException("Task not found"));
     var owner = task.getAssignment().getStudentId();
     if (!owner.equals(studentId)) {
@@ -35,43 +41,73 @@ public class TaskProgressService {
     return task;
   }
 
+  // Ordered sibling tasks for the full response, fetched in one statement instead of a lazy collection load
+  private HomeworkAssignment loadWithTasks(HomeworkTask task) {
+    return assignmentRepo.findWithTasksById(task.getAssignment().getId())
+            .orElseThrow(() -> new NotFoundException("Assignment not found"));
+  }
+
+  // Keeps the assignment-level task counters and the cached assignment in step with a single task write
+  private void syncAssignmentCounters(HomeworkTask task, HomeworkTaskStatus prevStatus, int prevProgress) {
+    cacheInvalidator.assignmentChanged(task.getAssignment().getId(), task.getAssignment().getStudentId());
+    var delta = TaskCounterDelta.between(prevStatus, prevProgress, task);
+    if (delta.isZero()) return;
+    assignmentRepo.applyTaskDelta(task.getAssignment().getId(), delta.completed(), delta.inProgress(), delta.progress());
+  }
+
   @Transactional
   public AssignmentDto start(UUID taskId, UUID studentId) {
+    writeBehind.flush(taskId);
     var task = loadTaskEnsureStudent(taskId, studentId);
     if (task.getStatus() == HomeworkTaskStatus.NOT_STARTED) {
       task.setStatus(HomeworkTaskStatus.IN_PROGRESS);
       task.setStartedAt(OffsetDateTime.now());
       taskRepo.save(task);
+      syncAssignmentCounters(task, HomeworkTaskStatus.NOT_STARTED, task.getProgressPct());
+      outbox.taskStarted(task);
     }
     // return whole assignment to simplify FE updates
-    return AssignmentMapper.toDto(task.getAssignment());
+    return AssignmentMapper.toDto(loadWithTasks(task));
   }
 
   @Transactional
   public AssignmentDto progress(UUID taskId, UUID studentId, ProgressDto body) {
+    var task = applyProgress(taskId, studentId, body);
+    return AssignmentMapper.toDto(loadWithTasks(task));
+  }
+
+  // Same transition as progress(), answering with the task and fresh counters only
+  @Transactional
+  public TaskProgressDeltaDto progressDelta(UUID taskId, UUID studentId, ProgressDto body) {
+    var task = applyProgress(taskId, studentId, body);
+    var counters = assignmentRepo.findCountersById(task.getAssignment().getId());
+    return AssignmentMapper.toProgressDelta(task, counters);
+  }
+
+  // Heartbeat variant: coalesced in memory when write-behind is enabled, otherwise written straight away
+  public void progressBuffered(UUID taskId, UUID studentId, ProgressDto body) {
+    writeBehind.submit(taskId, studentId, body);
+  }
+
+  private HomeworkTask applyProgress(UUID taskId, UUID studentId, ProgressDto body) {
+    writeBehind.flush(taskId);
     var task = loadTaskEnsureStudent(taskId, studentId);
-    if (task.getStatus() == HomeworkTaskStatus.NOT_STARTED) {
-      task.setStatus(HomeworkTaskStatus.IN_PROGRESS);
-      task.setStartedAt(OffsetDateTime.now());
-    }
-    if (body.progressPct() != null) {
-      int next = Math.max(task.getProgressPct(), Math.min(100, Math.max(0, body.progressPct())));
-      task.setProgressPct(next);
-    }
-    if (body.meta() != null && !body.meta().isEmpty()) {
-      // merge meta
-      var merged = new java.util.HashMap<String, Object>();
-      if (task.getMeta() != null) merged.putAll(task.getMeta());
-      merged.putAll(body.meta());
-      task.setMeta(merged);
-    }
+    var prevStatus = task.getStatus();
+    int prevProgress = task.getProgressPct();
+    task.applyProgress(body.progressPct(), body.meta());
     taskRepo.save(task);
-    return AssignmentMapper.toDto(task.getAssignment());
+    syncAssignmentCounters(task, prevStatus, prevProgress);
+    // the first progress ping starts the task implicitly
+    if (prevStatus == HomeworkTaskStatus.NOT_STARTED) outbox.taskStarted(task);
+    return task;
   }
 
   @Transactional
   public AssignmentDto complete(UUID taskId, UUID studentId, Map<String,Object> meta) {
+    writeBehind.flush(taskId);
     var task = loadTaskEnsureStudent(taskId, studentId);
+    var prevStatus = task.getStatus();
+    int prevProgress = task.getProgressPct();
     task.setStatus(HomeworkTaskStatus.COMPLETED);
     task.setProgressPct(100);
     if (task.getStartedAt() == null) task.setStartedAt(OffsetDateTime.now());
@@ -85,6 +121,16 @@ public class TaskProgressService {
     }
 
     taskRepo.save(task);
-    return AssignmentMapper.toDto(task.getAssignment());
+    syncAssignmentCounters(task, prevStatus, prevProgress);
+    if (prevStatus != HomeworkTaskStatus.COMPLETED) {
+      // read back after the relative update: concurrent completions serialize on the assignment row,
+      // so exactly one of them sees the last task done
+      var counters = assignmentRepo.findCountersById(task.getAssignment().getId());
+      boolean assignmentCompleted = counters.getCompletedTasks().equals(counters.getTotalTasks());
+      // the counter update holds the assignment row, so the sweeper cannot flag it between this read and commit
+      if (assignmentCompleted) studentCounts.assignmentCompleted(studentId, Boolean.TRUE.equals(counters.getPastDue()));
+      outbox.taskCompleted(task, assignmentCompleted);
+    }
+    return AssignmentMapper.toDto(loadWithTasks(task));
   }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.service.AssignmentArchiver;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// Archives an assignment through AssignmentArchiver, so the context needs homework.archive.enabled=true
+final class ArchiveTestSupport {
+
+    private ArchiveTestSupport() {}
+
+    // Completes its tasks, ages it past the cutoff and runs archiver chunks until it has moved. Other tests'
+    // old completed assignments may be queued ahead of it and move too.
+    static UUID archive(AssignmentDto dto, TaskProgressService taskProgressService, AssignmentArchiver archiver,
+                        JdbcTemplate jdbcTemplate) {
+        for (var task : dto.tasks()) {
+            taskProgressService.complete(task.id(), dto.studentId(), Map.of());
+        }
+        jdbcTemplate.update("update homework_assignments set created_at = ? where id = ?",
+                OffsetDateTime.now().minusDays(400), dto.id());
+        var cutoff = OffsetDateTime.now().minusDays(365);
+        int moved;
+        do {
+            moved = archiver.archiveChunk(cutoff);
+        } while (moved > 0 && isHot(dto.id(), jdbcTemplate));
+        if (isHot(dto.id(), jdbcTemplate)) throw new IllegalStateException("Assignment " + dto.id() + " was not archived");
+        return dto.id();
+    }
+
+    private static boolean isHot(UUID id, JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select count(*) from homework_assignments where id = ?", Long.class, id) > 0;
+    }
+}
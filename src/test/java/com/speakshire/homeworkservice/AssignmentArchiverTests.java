@@ -0,0 +1,169 @@
+package com.speakshire.homeworkservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.speakshire.homeworkservice.domain.ArchivedAssignmentDocument;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.dto.BulkAssignmentResultDto;
+import com.speakshire.homeworkservice.dto.BulkCreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.BulkRecipientDto;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.repository.ArchivedAssignmentRepository;
+import com.speakshire.homeworkservice.service.AssignmentArchiver;
+import com.speakshire.homeworkservice.service.AssignmentCache;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "homework.archive.enabled=true",
+        "homework.archive.initial-delay-ms=3600000",
+        "homework.archive.chunk-size=2"
+})
+@ActiveProfiles("test")
+class AssignmentArchiverTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    AssignmentArchiver archiver;
+
+    @Autowired
+    ArchivedAssignmentRepository archiveRepository;
+
+    @Autowired
+    AssignmentCache assignmentCache;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archiver_moves_old_completed_assignments_out_of_the_hot_tables() {
+        var studentId = UUID.randomUUID();
+        var teacherId = UUID.randomUUID();
+        var words = List.of(UUID.randomUUID(), UUID.randomUUID());
+        var done = List.of(createCompleted(teacherId, studentId, "Done 1", words),
+                createCompleted(teacherId, studentId, "Done 2", words),
+                createCompleted(teacherId, studentId, "Done 3", words));
+        var open = create(teacherId, studentId, "Open", words);
+        var before = homeworkService.getById(done.get(0));
+
+        // everything is old, but only the completed assignments qualify
+        jdbcTemplate.update("update homework_assignments set created_at = ? where student_id = ?",
+                OffsetDateTime.now().minusDays(400), studentId);
+        var cutoff = OffsetDateTime.now().minusDays(365);
+
+        assertThat(archiver.archiveChunk(cutoff)).isEqualTo(2);
+        assertThat(archiver.archiveChunk(cutoff)).isEqualTo(1);
+        assertThat(archiver.archiveChunk(cutoff)).isZero();
+
+        assertThat(count("select count(*) from homework_assignments where student_id = ?", studentId)).isEqualTo(1);
+        assertThat(count("select count(*) from homework_tasks t join homework_assignments a " +
+                "on a.id = t.assignment_id where a.student_id = ?", studentId)).isEqualTo(2);
+        assertThat(archiveRepository.findById(done.get(0))).get()
+                .satisfies(a -> {
+                    assertThat(a.getVocabWords()).hasSize(2);
+                    assertThat(a.getDocument().version()).isEqualTo(ArchivedAssignmentDocument.CURRENT_VERSION);
+                });
+
+        // hot listings no longer see them, the archive listing does
+        assertThat(homeworkService.listStudentAssignments(studentId, "all", "2000-01-01", "2100-01-01", true, false,
+                null, PageRequest.of(0, 20)).getContent()).extracting(AssignmentListItemDto::id).containsExactly(open);
+        var history = homeworkService.listStudentArchive(studentId, PageRequest.of(0, 20));
+        assertThat(history.getTotalElements()).isEqualTo(3);
+        assertThat(history.getContent()).extracting(AssignmentListItemDto::id).containsExactlyInAnyOrderElementsOf(done);
+        assertThat(history.getContent()).allMatch(i -> i.completed() && i.progressPct() == 100);
+        assertThat(homeworkService.listTutorArchive(teacherId, Optional.of(studentId), PageRequest.of(0, 20))
+                .getTotalElements()).isEqualTo(3);
+
+        // get-by-id falls back to the archived document
+        assignmentCache.evict(done.get(0));
+        var archived = homeworkService.getById(done.get(0));
+        assertThat(archived.title()).isEqualTo(before.title());
+        assertThat(archived.tasks()).extracting(t -> t.id()).containsExactlyElementsOf(
+                before.tasks().stream().map(t -> t.id()).toList());
+        assertThat(archived.tasks().get(0).completedAt()).isEqualTo(before.tasks().get(0).completedAt());
+
+        homeworkService.deleteAssignment(done.get(0));
+        assertThat(archiveRepository.findById(done.get(0))).isEmpty();
+        assertThat(homeworkService.getById(done.get(0))).isNull();
+    }
+
+    @Test
+    void creates_retried_with_the_key_of_an_archived_assignment_return_it() {
+        var studentId = UUID.randomUUID();
+        var teacherId = UUID.randomUUID();
+        var request = new CreateAssignmentDto(studentId, "Keyed", null, null, null, "retry-1", List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null)));
+        var original = homeworkService.createAssignment(teacherId, request);
+        taskProgressService.complete(original.tasks().get(0).id(), studentId, Map.of());
+
+        jdbcTemplate.update("update homework_assignments set created_at = ? where id = ?",
+                OffsetDateTime.now().minusDays(400), original.id());
+        var cutoff = OffsetDateTime.now().minusDays(365);
+        // other tests' old completed assignments may be queued ahead of it
+        int moved;
+        do {
+            moved = archiver.archiveChunk(cutoff);
+        } while (moved > 0);
+        assertThat(archiveRepository.findById(original.id())).get()
+                .satisfies(a -> assertThat(a.getIdempotencyKey()).isEqualTo("retry-1"));
+
+        assertThat(homeworkService.createAssignment(teacherId, request).id()).isEqualTo(original.id());
+        var bulk = homeworkService.createAssignmentsBulk(teacherId, new BulkCreateAssignmentDto("Keyed", null, null,
+                null, request.tasks(), List.of(new BulkRecipientDto(studentId, "retry-1"))));
+        assertThat(bulk).singleElement().satisfies(r -> {
+            assertThat(r.assignmentId()).isEqualTo(original.id());
+            assertThat(r.status()).isEqualTo(BulkAssignmentResultDto.Status.EXISTING);
+        });
+        assertThat(count("select count(*) from homework_assignments where student_id = ?", studentId)).isZero();
+    }
+
+    @Test
+    void documents_without_a_version_are_rejected() {
+        var mapper = new ObjectMapper().findAndRegisterModules();
+        assertThatThrownBy(() -> mapper.readValue("{\"instructions\":null,\"tasks\":[]}",
+                ArchivedAssignmentDocument.class)).isInstanceOf(MismatchedInputException.class);
+    }
+
+    private UUID createCompleted(UUID teacherId, UUID studentId, String title, List<UUID> words) {
+        var id = create(teacherId, studentId, title, words);
+        for (var task : homeworkService.getById(id).tasks()) {
+            taskProgressService.complete(task.id(), studentId, Map.of());
+        }
+        return id;
+    }
+
+    private UUID create(UUID teacherId, UUID studentId, String title, List<UUID> words) {
+        return homeworkService.createAssignment(teacherId, new CreateAssignmentDto(studentId, title, null,
+                OffsetDateTime.now().plusDays(1), null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null),
+                new CreateTaskDto(HomeworkTaskType.VOCAB, SourceKind.VOCAB_LIST, "Words", null, 2, Map.of(), words))))
+                .id();
+    }
+
+    private long count(String sql, UUID studentId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, studentId);
+    }
+}
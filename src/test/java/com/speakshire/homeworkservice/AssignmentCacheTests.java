@@ -0,0 +1,54 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.service.AssignmentCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssignmentCacheTests {
+
+    private final AssignmentCache cache = new AssignmentCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1));
+
+    @Test
+    void a_load_is_only_discarded_by_an_eviction_of_its_own_id() {
+        var id = UUID.randomUUID();
+        var other = UUID.randomUUID();
+        var loads = new AtomicInteger();
+
+        // another id evicted while loading: the result is still cached
+        cache.get(id, key -> {
+            loads.incrementAndGet();
+            cache.evict(other);
+            return dto(key);
+        });
+        cache.get(id, key -> {
+            loads.incrementAndGet();
+            return dto(key);
+        });
+        assertThat(loads).hasValue(1);
+
+        // the same id evicted while loading: the possibly stale result is not cached
+        cache.evict(id);
+        cache.get(id, key -> {
+            loads.incrementAndGet();
+            cache.evict(key);
+            return dto(key);
+        });
+        cache.get(id, key -> {
+            loads.incrementAndGet();
+            return dto(key);
+        });
+        assertThat(loads).hasValue(3);
+    }
+
+    private static AssignmentDto dto(UUID id) {
+        return new AssignmentDto(id, UUID.randomUUID(), UUID.randomUUID(), "Homework", null, null, null, List.of());
+    }
+}
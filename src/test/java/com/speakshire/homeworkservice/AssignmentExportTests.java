@@ -0,0 +1,167 @@
+package com.speakshire.homeworkservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.AssignmentArchiver;
+import com.speakshire.homeworkservice.service.AssignmentExporter;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "homework.archive.enabled=true",
+        "homework.archive.initial-delay-ms=3600000"
+})
+@ActiveProfiles("test")
+class AssignmentExportTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    AssignmentArchiver archiver;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    AssignmentExporter exporter;
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void export_streams_hot_and_archived_assignments_as_ndjson_csv_and_gzip() throws Exception {
+        var teacherId = UUID.randomUUID();
+        var studentId = UUID.randomUUID();
+        var hot = new ArrayList<UUID>();
+        for (int i = 0; i < 3; i++) {
+            hot.add(create(teacherId, studentId, "Homework " + i).id());
+        }
+        create(UUID.randomUUID(), studentId, "Someone else's");
+        var old = ArchiveTestSupport.archive(create(teacherId, UUID.randomUUID(), "Essay, \"final\""),
+                taskProgressService, archiver, jdbcTemplate);
+
+        var ndjson = get("/api/homeworks/tutor/" + teacherId + "/export");
+        assertThat(ndjson.statusCode()).isEqualTo(200);
+        assertThat(ndjson.headers().firstValue("Content-Type")).hasValueSatisfying(v -> assertThat(v).startsWith("application/x-ndjson"));
+        var lines = new String(ndjson.body(), StandardCharsets.UTF_8).lines().toList();
+        var exported = new ArrayList<AssignmentDto>();
+        for (var line : lines) exported.add(objectMapper.readValue(line, AssignmentDto.class));
+        // archived history first, then the hot assignments oldest first
+        assertThat(exported).extracting(AssignmentDto::id).containsExactly(old, hot.get(0), hot.get(1), hot.get(2));
+        assertThat(exported.get(1).tasks()).hasSize(2);
+
+        var hotOnly = get("/api/homeworks/tutor/" + teacherId + "/export?includeArchived=false&studentId=" + studentId);
+        assertThat(new String(hotOnly.body(), StandardCharsets.UTF_8).lines()).hasSize(3);
+
+        var csv = new String(get("/api/homeworks/tutor/" + teacherId + "/export?format=csv").body(), StandardCharsets.UTF_8)
+                .lines().toList();
+        assertThat(csv.get(0)).startsWith("assignment_id,");
+        // one line per task
+        assertThat(csv).hasSize(1 + 4 * 2);
+        assertThat(csv.get(1)).contains(",\"Essay, \"\"final\"\"\",");
+
+        var gzip = get("/api/homeworks/tutor/" + teacherId + "/export?gzip=true");
+        assertThat(gzip.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(gzip.body()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()).containsExactlyElementsOf(lines);
+        }
+
+        assertThat(get("/api/homeworks/tutor/" + teacherId + "/export?format=xml").statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void exports_beyond_the_concurrency_limit_are_rejected_until_a_slot_frees() throws Exception {
+        var teacherId = UUID.randomUUID();
+        create(teacherId, UUID.randomUUID(), "Homework");
+        // hold both default slots as two long-running exports would
+        var first = exporter.tryReserve().orElseThrow();
+        var second = exporter.tryReserve().orElseThrow();
+        try {
+            assertThat(exporter.tryReserve()).isEmpty();
+            var rejected = get("/api/homeworks/tutor/" + teacherId + "/export");
+            assertThat(rejected.statusCode()).isEqualTo(429);
+            assertThat(new String(rejected.body(), StandardCharsets.UTF_8)).contains("TOO_MANY_REQUESTS");
+
+            first.close();
+            first.close();
+            assertThat(get("/api/homeworks/tutor/" + teacherId + "/export").statusCode()).isEqualTo(200);
+        } finally {
+            first.close();
+            second.close();
+        }
+        // the finished export gave its slot back, and closing twice released only once
+        var a = exporter.tryReserve().orElseThrow();
+        var b = exporter.tryReserve().orElseThrow();
+        assertThat(exporter.tryReserve()).isEmpty();
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void a_slot_is_freed_by_the_request_ending_only_if_its_export_never_started() {
+        var neverRan = exporter.tryReserve().orElseThrow();
+        var running = exporter.tryReserve().orElseThrow();
+        assertThat(running.start()).isTrue();
+
+        // the request timed out before its body was scheduled: the slot frees and a late body does nothing
+        neverRan.abandon();
+        assertThat(neverRan.start()).isFalse();
+        // a running export still holds its connection, so only the body's close frees it
+        running.abandon();
+        var next = exporter.tryReserve().orElseThrow();
+        assertThat(exporter.tryReserve()).isEmpty();
+
+        running.close();
+        next.close();
+        var a = exporter.tryReserve().orElseThrow();
+        var b = exporter.tryReserve().orElseThrow();
+        assertThat(exporter.tryReserve()).isEmpty();
+        a.close();
+        b.close();
+    }
+
+    private AssignmentDto create(UUID teacherId, UUID studentId, String title) {
+        return homeworkService.createAssignment(teacherId, new CreateAssignmentDto(studentId, title, null,
+                null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null),
+                new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL, "Read", null, 2, Map.of(), null))));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,51 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.BulkAssignmentResultDto;
+import com.speakshire.homeworkservice.dto.BulkCreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.BulkRecipientDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkAssignmentTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Test
+    void one_failing_recipient_does_not_fail_the_rest_of_its_chunk() {
+        var teacherId = UUID.randomUUID();
+        var students = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        // longer than the idempotency_key column, so this insert fails inside the shared chunk
+        var tooLong = "k".repeat(300);
+        var recipients = List.of(new BulkRecipientDto(students.get(0), "a"),
+                new BulkRecipientDto(students.get(1), tooLong),
+                new BulkRecipientDto(students.get(2), null),
+                new BulkRecipientDto(students.get(1), tooLong));
+
+        var results = homeworkService.createAssignmentsBulk(teacherId, new BulkCreateAssignmentDto("Homework", null,
+                null, null, List.of(new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL, "Visit", null, 1,
+                Map.of("url", "https://example.com"), null)), recipients));
+
+        assertThat(results).extracting(BulkAssignmentResultDto::status).containsExactly(
+                BulkAssignmentResultDto.Status.CREATED, BulkAssignmentResultDto.Status.FAILED,
+                BulkAssignmentResultDto.Status.CREATED, BulkAssignmentResultDto.Status.FAILED);
+        assertThat(results.get(1).error()).isEqualTo(BulkAssignmentResultDto.CONSTRAINT_VIOLATION);
+        assertThat(results.get(3).error()).isEqualTo(BulkAssignmentResultDto.CONSTRAINT_VIOLATION);
+        assertThat(homeworkService.getById(results.get(0).assignmentId()).studentId()).isEqualTo(students.get(0));
+        assertThat(homeworkService.getById(results.get(2).assignmentId()).studentId()).isEqualTo(students.get(2));
+    }
+}
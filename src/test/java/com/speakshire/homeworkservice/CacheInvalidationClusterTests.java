@@ -0,0 +1,108 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskStatus;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two replicas sharing one database: a write on the first must evict the second one's caches
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "homework.cache.invalidation.enabled=true"
+})
+@EmbeddedKafka(partitions = 1, topics = "homework.cache-invalidation")
+@ActiveProfiles("test")
+class CacheInvalidationClusterTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    EmbeddedKafkaBroker broker;
+
+    private ConfigurableApplicationContext replica;
+
+    @BeforeEach
+    void startSecondReplica() {
+        replica = new SpringApplicationBuilder(HomeworkServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "--homework.cache.invalidation.enabled=true",
+                        // replicas need distinct ids, or they would share one consumer group
+                        "--homework.instance-id=replica-" + UUID.randomUUID(),
+                        // the schema belongs to the first replica
+                        "--spring.jpa.hibernate.ddl-auto=none");
+        waitForAssignment(registry);
+        waitForAssignment(replica.getBean(KafkaListenerEndpointRegistry.class));
+    }
+
+    @AfterEach
+    void stopSecondReplica() {
+        replica.close();
+    }
+
+    @Test
+    void completing_a_task_on_one_replica_evicts_the_other() throws Exception {
+        var other = replica.getBean(HomeworkService.class);
+        var studentId = UUID.randomUUID();
+        var created = homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(
+                studentId, "Homework", null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1,
+                        Map.of("url", "https://example.com/v"), null))));
+        var taskId = created.tasks().get(0).id();
+
+        // both caches warm on the second replica
+        assertThat(other.getById(created.id()).tasks().get(0).status()).isEqualTo(HomeworkTaskStatus.NOT_STARTED);
+        assertThat(other.countStudentAssignments(studentId, null, null, true).get("completed")).isZero();
+
+        taskProgressService.complete(taskId, studentId, Map.of());
+
+        waitUntil(() -> other.getById(created.id()).tasks().get(0).status() == HomeworkTaskStatus.COMPLETED);
+        waitUntil(() -> other.countStudentAssignments(studentId, null, null, true).get("completed") == 1L);
+
+        homeworkService.deleteAssignment(created.id());
+        waitUntil(() -> other.getById(created.id()) == null);
+    }
+
+    private void waitForAssignment(KafkaListenerEndpointRegistry listeners) {
+        ContainerTestUtils.waitForAssignment(listeners.getListenerContainer("homework-cache-invalidation"), 1);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out waiting for the other replica").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
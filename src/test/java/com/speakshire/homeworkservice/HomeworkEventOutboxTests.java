@@ -0,0 +1,65 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.HomeworkEventType;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.OutboxEvent;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.dto.ProgressDto;
+import com.speakshire.homeworkservice.repository.OutboxEventRepository;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The relay is off in tests, so the events stay in homework_outbox as written
+@SpringBootTest
+@ActiveProfiles("test")
+class HomeworkEventOutboxTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    OutboxEventRepository outboxRepository;
+
+    @Test
+    void first_progress_emits_task_started_with_iso_timestamps() {
+        var studentId = UUID.randomUUID();
+        var dueAt = OffsetDateTime.parse("2030-01-15T10:00:00Z");
+        var created = homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(studentId, "Homework",
+                null, dueAt, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null))));
+        var taskId = created.tasks().get(0).id();
+
+        taskProgressService.progress(taskId, studentId, new ProgressDto(20, Map.of()));
+        taskProgressService.progress(taskId, studentId, new ProgressDto(60, Map.of()));
+        taskProgressService.complete(taskId, studentId, Map.of());
+
+        var events = outboxRepository.findAll().stream().filter(e -> e.getStudentId().equals(studentId)).toList();
+        assertThat(events).extracting(OutboxEvent::getType).containsExactlyInAnyOrder(
+                HomeworkEventType.ASSIGNMENT_CREATED, HomeworkEventType.TASK_STARTED, HomeworkEventType.TASK_COMPLETED);
+        assertThat(payload(events, HomeworkEventType.ASSIGNMENT_CREATED).get("dueAt")).isEqualTo("2030-01-15T10:00Z");
+        assertThat(payload(events, HomeworkEventType.TASK_STARTED).get("startedAt")).isInstanceOf(String.class)
+                .satisfies(v -> OffsetDateTime.parse((String) v));
+        assertThat(payload(events, HomeworkEventType.TASK_COMPLETED).get("completedAt")).isInstanceOf(String.class)
+                .satisfies(v -> OffsetDateTime.parse((String) v));
+    }
+
+    private static Map<String, Object> payload(List<OutboxEvent> events, HomeworkEventType type) {
+        return events.stream().filter(e -> e.getType() == type).findFirst().orElseThrow().getPayload();
+    }
+}
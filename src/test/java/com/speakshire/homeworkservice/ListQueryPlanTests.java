@@ -0,0 +1,135 @@
+package com.speakshire.homeworkservice;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN for the shapes of the listing, counts, sweeper and get-by-id queries on a seeded dataset and
+ * checks which index the planner picks. On PostgreSQL the covering and partial indexes of the changelog
+ * replace the portable ones, so the expected names differ per database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryPlanTests {
+
+    private static final int STUDENTS = 200;
+    private static final int TEACHERS = 40;
+    private static final int PER_STUDENT = 25;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    private boolean postgres;
+    private UUID studentId;
+    private UUID teacherId;
+    private UUID assignmentId;
+
+    @BeforeAll
+    void seed() {
+        postgres = Boolean.TRUE.equals(jdbc.execute((Connection c) ->
+                c.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")));
+        var students = new ArrayList<UUID>();
+        var teachers = new ArrayList<UUID>();
+        for (int i = 0; i < STUDENTS; i++) students.add(UUID.randomUUID());
+        for (int i = 0; i < TEACHERS; i++) teachers.add(UUID.randomUUID());
+
+        var now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        var assignments = new ArrayList<Object[]>();
+        var tasks = new ArrayList<Object[]>();
+        for (int s = 0; s < STUDENTS; s++) {
+            for (int i = 0; i < PER_STUDENT; i++) {
+                var id = UUID.randomUUID();
+                var created = Timestamp.from(now.minus((long) s * PER_STUDENT + i, ChronoUnit.HOURS));
+                // a tenth already past due; due dates stay in the future so the sweeper never picks them up
+                assignments.add(new Object[]{id, teachers.get((s + i) % TEACHERS), students.get(s), "Homework " + i,
+                        Timestamp.from(now.plus(1 + i, ChronoUnit.DAYS)), created, created, 2, i % 3, 0, 50 * (i % 3),
+                        i % 10 == 0});
+                for (int t = 1; t <= 2; t++) {
+                    tasks.add(new Object[]{UUID.randomUUID(), id, t, "Task " + t, created, created});
+                }
+            }
+        }
+        jdbc.batchUpdate("insert into homework_assignments (id, teacher_id, student_id, title, due_at, created_at, " +
+                "updated_at, total_tasks, completed_tasks, in_progress_tasks, progress_sum, past_due) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", assignments);
+        jdbc.batchUpdate("insert into homework_tasks (id, assignment_id, ordinal, type, title, source_kind, content_ref, " +
+                "status, progress_pct, meta, created_at, updated_at) " +
+                "values (?, ?, ?, 'LINK', ?, 'EXTERNAL_URL', '{}', 'NOT_STARTED', 0, '{}', ?, ?)", tasks);
+        jdbc.execute(postgres ? "analyze homework_assignments" : "analyze");
+
+        studentId = students.get(7);
+        teacherId = teachers.get(3);
+        assignmentId = (UUID) assignments.get(42)[0];
+    }
+
+    @Test
+    void student_listing_uses_the_student_created_index() {
+        assertThat(plan("select a.id, a.title, a.due_at, a.total_tasks, a.completed_tasks, a.past_due " +
+                "from homework_assignments a where a.student_id = '" + studentId + "' " +
+                "and a.created_at between current_timestamp - interval '7' day and current_timestamp " +
+                "order by a.created_at desc, a.id desc"))
+                .containsIgnoringCase(postgres ? "idx_hw_assign_student_created_cov" : "idx_hw_assign_student_created");
+    }
+
+    @Test
+    void due_date_seek_page_uses_the_student_due_index() {
+        assertThat(plan("select a.id, a.title, a.due_at from homework_assignments a " +
+                "where a.student_id = '" + studentId + "' " +
+                "and (a.due_at, a.id) > (current_timestamp, '00000000-0000-0000-0000-000000000000') " +
+                "order by a.due_at, a.id limit 20"))
+                .containsPattern(postgres ? "(?i)idx_hw_assign_student_due\\b" : "(?i)idx_hw_assign_student\\b");
+    }
+
+    @Test
+    void tutor_listing_uses_the_teacher_index() {
+        assertThat(plan("select a.id, a.title, a.due_at from homework_assignments a " +
+                "where a.teacher_id = '" + teacherId + "' " +
+                "and a.created_at between current_timestamp - interval '7' day and current_timestamp " +
+                "order by a.created_at desc, a.id desc"))
+                .containsIgnoringCase(postgres ? "idx_hw_assign_teacher_cov" : "idx_hw_assign_teacher");
+    }
+
+    @Test
+    void overdue_count_uses_the_student_past_due_index() {
+        assertThat(plan("select count(*) from homework_assignments a " +
+                "where a.student_id = '" + studentId + "' and a.past_due = true"))
+                .containsIgnoringCase(postgres ? "idx_hw_assign_student_overdue" : "idx_hw_assign_student_past_due");
+    }
+
+    @Test
+    void overdue_sweep_uses_the_due_index() {
+        assertThat(plan("select a.id from homework_assignments a " +
+                "where a.past_due = false and a.due_at < current_timestamp order by a.due_at"))
+                .containsIgnoringCase(postgres ? "idx_hw_assign_due_pending" : "idx_hw_assign_past_due");
+    }
+
+    @Test
+    void get_by_id_reads_tasks_through_the_assignment_index() {
+        assertThat(plan("select a.id, t.id, t.ordinal from homework_assignments a " +
+                "left join homework_tasks t on t.assignment_id = a.id where a.id = '" + assignmentId + "' " +
+                "order by t.ordinal"))
+                // H2 backs every foreign key with an index of its own and may pick that one
+                .containsPattern("(?i)idx_hw_tasks_(assignment|status)|fk_hw_tasks_assignment");
+    }
+
+    private String plan(String sql) {
+        List<String> lines = jdbc.queryForList("explain " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,98 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// exporters are off in tests by default; this one scrapes the Prometheus endpoint
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class MetricsTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void service_repository_statement_and_pool_metrics_are_scraped() {
+        var studentId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(studentId, "Homework " + i,
+                    null, null, null, null, List.of(new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL,
+                    "Visit", null, 1, Map.of("url", "https://example.com"), null))));
+        }
+        double loadedBefore = rows("homework.list.rows.loaded", "seek");
+        double returnedBefore = rows("homework.list.rows.returned", "seek");
+
+        var page = rest.getForEntity("/api/homeworks/student/{id}?status=all&sort=due_asc&cursor=&size=2",
+                String.class, studentId);
+        assertThat(page.getStatusCode().is2xxSuccessful()).isTrue();
+
+        // one seek statement, reading one row past the page to detect the next one
+        var statements = meterRegistry.get("homework.request.statements")
+                .tag("method", "GET").tag("uri", "/api/homeworks/student/{studentId}").summary();
+        assertThat(statements.max()).isEqualTo(1.0);
+        assertThat(rows("homework.list.rows.loaded", "seek") - loadedBefore).isEqualTo(3.0);
+        assertThat(rows("homework.list.rows.returned", "seek") - returnedBefore).isEqualTo(2.0);
+
+        var call = meterRegistry.get("homework.service")
+                .tag("method", "seekStudentAssignments").tag("status", "all").tag("sort", "due_asc")
+                .tag("view", "seek").timer();
+        assertThat(call.count()).isEqualTo(1);
+
+        var scrape = rest.getForObject("/actuator/prometheus", String.class);
+        assertThat(scrape)
+                .contains("homework_service_seconds_bucket{")
+                .contains("homework_request_statements_count{")
+                .contains("homework_list_rows_loaded_total{")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("method=\"seekListItems\"")
+                .contains("hikaricp_connections_acquire_seconds_count{")
+                .contains("hikaricp_connections_pending{");
+    }
+
+    @Test
+    void offset_pages_count_the_skipped_rows_as_loaded() {
+        var studentId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(studentId, "Homework " + i,
+                    null, null, null, null, List.of(new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL,
+                    "Visit", null, 1, Map.of("url", "https://example.com"), null))));
+        }
+        double loadedBefore = rows("homework.list.rows.loaded", "page");
+        double returnedBefore = rows("homework.list.rows.returned", "page");
+
+        var page = rest.getForEntity("/api/homeworks/student/{id}?status=all&page=1&size=2", String.class, studentId);
+        assertThat(page.getStatusCode().is2xxSuccessful()).isTrue();
+
+        // the second page skips two rows and answers with the third
+        assertThat(rows("homework.list.rows.loaded", "page") - loadedBefore).isEqualTo(3.0);
+        assertThat(rows("homework.list.rows.returned", "page") - returnedBefore).isEqualTo(1.0);
+    }
+
+    private double rows(String name, String view) {
+        var counter = meterRegistry.find(name).tag("view", view).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
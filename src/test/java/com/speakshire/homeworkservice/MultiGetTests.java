@@ -0,0 +1,77 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.AssignmentBatchDto;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.AssignmentArchiver;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "homework.multi-get.max-ids=4",
+                "homework.archive.enabled=true",
+                "homework.archive.initial-delay-ms=3600000"
+        })
+@ActiveProfiles("test")
+class MultiGetTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    AssignmentArchiver archiver;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Test
+    void ids_are_answered_in_request_order_with_duplicates_once_and_unknown_ids_missing() {
+        var first = create("First").id();
+        var second = create("Second").id();
+        var archived = ArchiveTestSupport.archive(create("Archived"), taskProgressService, archiver, jdbcTemplate);
+        var unknown = UUID.randomUUID();
+
+        var response = rest.getForEntity("/api/homeworks?ids={ids}", AssignmentBatchDto.class,
+                String.join(",", List.of(second, unknown, archived, second).stream().map(UUID::toString).toList()));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().assignments()).extracting(AssignmentDto::id).containsExactly(second, archived);
+        assertThat(response.getBody().assignments().get(1).tasks()).hasSize(1);
+        assertThat(response.getBody().missing()).containsExactly(unknown);
+
+        // the cap counts ids as sent, before duplicates are folded
+        var ids = String.join(",", List.of(first, first, first, first, first).stream().map(UUID::toString).toList());
+        var tooMany = rest.getForEntity("/api/homeworks?ids={ids}", String.class, ids);
+        assertThat(tooMany.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(tooMany.getBody()).contains("BAD_REQUEST").contains("At most 4 ids");
+    }
+
+    private AssignmentDto create(String title) {
+        return homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(UUID.randomUUID(), title,
+                null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL, "Visit", null, 1,
+                        Map.of("url", "https://example.com"), null))));
+    }
+}
@@ -0,0 +1,96 @@
+package com.speakshire.homeworkservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.repository.OutboxEventRepository;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "homework.outbox.relay.enabled=true",
+        "homework.outbox.relay.interval-ms=100"
+})
+@EmbeddedKafka(partitions = 1, topics = "homework.events")
+@ActiveProfiles("test")
+class OutboxRelayTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    OutboxEventRepository outboxRepository;
+
+    @Autowired
+    EmbeddedKafkaBroker broker;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void lifecycleEventsAreRelayedInOrderKeyedByStudent() throws Exception {
+        var studentId = UUID.randomUUID();
+        var created = homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(
+                studentId, "Homework", null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1,
+                        Map.of("url", "https://example.com/v"), null))));
+        var taskId = created.tasks().get(0).id();
+        taskProgressService.start(taskId, studentId);
+        taskProgressService.complete(taskId, studentId, null);
+        homeworkService.deleteAssignment(created.id());
+
+        var props = KafkaTestUtils.consumerProps("outbox-test", "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "homework.events");
+            var received = new ArrayList<ConsumerRecord<String, String>>();
+            long deadline = System.currentTimeMillis() + 15_000;
+            while (received.size() < 4 && System.currentTimeMillis() < deadline) {
+                // the schema outlives test contexts, so events left by other tests are relayed too
+                KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500)).forEach(r -> {
+                    if (r.key().equals(studentId.toString())) received.add(r);
+                });
+            }
+
+            var types = new ArrayList<String>();
+            for (var r : received) {
+                JsonNode event = objectMapper.readTree(r.value());
+                assertThat(event.get("assignmentId").asText()).isEqualTo(created.id().toString());
+                types.add(event.get("type").asText());
+                if ("TASK_COMPLETED".equals(event.get("type").asText())) {
+                    assertThat(event.get("payload").get("assignmentCompleted").asBoolean()).isTrue();
+                }
+            }
+            assertThat(types).containsExactly("ASSIGNMENT_CREATED", "TASK_STARTED", "TASK_COMPLETED", "ASSIGNMENT_DELETED");
+        }
+        assertThat(outboxRepository.findAll()).noneMatch(e -> e.getAssignmentId().equals(created.id()));
+    }
+}
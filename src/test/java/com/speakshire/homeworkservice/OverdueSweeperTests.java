@@ -0,0 +1,99 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.HomeworkEventType;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.OutboxEvent;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.repository.OutboxEventRepository;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.OverdueSweeper;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "homework.overdue.sweeper.enabled=true",
+        "homework.overdue.sweeper.initial-delay-ms=3600000",
+        "homework.overdue.sweeper.chunk-size=2"
+})
+@ActiveProfiles("test")
+class OverdueSweeperTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    OverdueSweeper sweeper;
+
+    @Autowired
+    OutboxEventRepository outboxRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sweeper_flags_past_due_assignments_in_chunks_and_emits_events() {
+        var studentId = UUID.randomUUID();
+        var teacherId = UUID.randomUUID();
+        var open = List.of(create(teacherId, studentId, "Open 1"), create(teacherId, studentId, "Open 2"),
+                create(teacherId, studentId, "Open 3"));
+        var done = create(teacherId, studentId, "Done");
+        var doneTask = homeworkService.getById(done).tasks().get(0).id();
+        taskProgressService.complete(doneTask, studentId, Map.of());
+
+        // the due time passes
+        jdbcTemplate.update("update homework_assignments set due_at = ? where student_id = ?",
+                OffsetDateTime.now().minusMinutes(1), studentId);
+        assertThat(overdueTitles(studentId)).isEmpty();
+
+        sweeper.sweep();
+
+        assertThat(overdueTitles(studentId)).containsExactlyInAnyOrder("Open 1", "Open 2", "Open 3");
+        assertThat(homeworkService.countStudentAssignments(studentId, null, null, true).get("overdue")).isEqualTo(3L);
+        assertThat(overdueEvents(studentId)).extracting(OutboxEvent::getAssignmentId)
+                .containsExactlyInAnyOrderElementsOf(open);
+
+        // already flagged rows are not picked up again
+        assertThat(sweeper.sweepChunk(OffsetDateTime.now())).isZero();
+        assertThat(overdueEvents(studentId)).hasSize(3);
+        assertThat(homeworkService.countStudentAssignments(studentId, null, null, true).get("overdue")).isEqualTo(3L);
+    }
+
+    private UUID create(UUID teacherId, UUID studentId, String title) {
+        return homeworkService.createAssignment(teacherId, new CreateAssignmentDto(studentId, title, null,
+                OffsetDateTime.now().plusDays(1), null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null))))
+                .id();
+    }
+
+    private List<String> overdueTitles(UUID studentId) {
+        return homeworkService.listStudentAssignments(studentId, "overdue", (String) null, null, true, false,
+                "due_asc", PageRequest.of(0, 20)).getContent().stream()
+                .filter(AssignmentListItemDto::overdue)
+                .map(AssignmentListItemDto::title)
+                .toList();
+    }
+
+    private List<OutboxEvent> overdueEvents(UUID studentId) {
+        return outboxRepository.findAll().stream()
+                .filter(e -> e.getStudentId().equals(studentId) && e.getType() == HomeworkEventType.ASSIGNMENT_OVERDUE)
+                .toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.*;
+import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.HomeworkTaskRepository;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "homework.progress.kafka.enabled=true"
+})
+@EmbeddedKafka(partitions = 1, topics = "homework.progress")
+@ActiveProfiles("test")
+class ProgressKafkaIngestTests {
+
+    @Autowired
+    KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    EmbeddedKafkaBroker broker;
+
+    @Autowired
+    HomeworkAssignmentRepository assignmentRepository;
+
+    @Autowired
+    HomeworkTaskRepository taskRepository;
+
+    @Test
+    void progress_events_are_merged_per_task_and_offsets_committed_after_write() throws Exception {
+        var studentId = UUID.randomUUID();
+        HomeworkAssignment a = new HomeworkAssignment();
+        a.setTeacherId(UUID.randomUUID());
+        a.setStudentId(studentId);
+        a.setTitle("Video homework");
+        HomeworkTask t = new HomeworkTask();
+        t.setOrdinal(1);
+        t.setType(HomeworkTaskType.VIDEO);
+        t.setTitle("Watch");
+        t.setSourceKind(SourceKind.EXTERNAL_URL);
+        t.setContentRef(Map.of("url", "https://example.com/v"));
+        a.addTask(t);
+        a = assignmentRepository.save(a);
+        var taskId = a.getTasks().get(0).getId();
+
+        send(taskId, "{\"taskId\":\"%s\",\"studentId\":\"%s\",\"progressPct\":20,\"meta\":{\"position\":12}}"
+                .formatted(taskId, studentId));
+        send(taskId, "{\"taskId\":\"%s\",\"studentId\":\"%s\",\"progressPct\":60,\"meta\":{\"position\":40}}"
+                .formatted(taskId, studentId));
+        send(taskId, "{\"taskId\":\"%s\",\"studentId\":\"%s\",\"progressPct\":40,\"meta\":{\"speed\":1.5}}"
+                .formatted(taskId, studentId));
+        send(taskId, "not json");
+        send(taskId, "{\"taskId\":\"%s\",\"studentId\":\"%s\",\"progressPct\":100}"
+                .formatted(taskId, UUID.randomUUID()));
+
+        var assignmentId = a.getId();
+        waitUntil(() -> committedOffset() == 5);
+
+        var task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(task.getStatus()).isEqualTo(HomeworkTaskStatus.IN_PROGRESS);
+        assertThat(task.getProgressPct()).isEqualTo(60);
+        assertThat(task.getMeta()).containsEntry("position", 40).containsKey("speed");
+
+        var counters = assignmentRepository.findCountersById(assignmentId);
+        assertThat(counters.getInProgressTasks()).isEqualTo(1);
+        assertThat(counters.getProgressSum()).isEqualTo(60);
+    }
+
+    private void send(UUID key, String value) throws Exception {
+        kafkaTemplate.send("homework.progress", key.toString(), value).get();
+    }
+
+    private long committedOffset() {
+        try {
+            OffsetAndMetadata committed = KafkaTestUtils.getCurrentOffset(
+                    broker.getBrokersAsString(), "homework-service-progress", "homework.progress", 0);
+            return committed == null ? -1 : committed.offset();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("timed out waiting for the listener").isLessThan(deadline);
+            Thread.sleep(200);
+        }
+    }
+}
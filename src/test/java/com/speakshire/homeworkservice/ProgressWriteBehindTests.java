@@ -0,0 +1,96 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.*;
+import com.speakshire.homeworkservice.dto.ProgressDto;
+import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.HomeworkTaskRepository;
+import com.speakshire.homeworkservice.service.ProgressWriteBehindBuffer;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "homework.progress.write-behind.enabled=true",
+        "homework.progress.write-behind.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class ProgressWriteBehindTests {
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    ProgressWriteBehindBuffer writeBehind;
+
+    @Autowired
+    HomeworkAssignmentRepository assignmentRepository;
+
+    @Autowired
+    HomeworkTaskRepository taskRepository;
+
+    private UUID studentId;
+    private UUID assignmentId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setup() {
+        studentId = UUID.randomUUID();
+        HomeworkAssignment a = new HomeworkAssignment();
+        a.setTeacherId(UUID.randomUUID());
+        a.setStudentId(studentId);
+        a.setTitle("Video homework");
+        HomeworkTask t = new HomeworkTask();
+        t.setOrdinal(1);
+        t.setType(HomeworkTaskType.VIDEO);
+        t.setTitle("Watch");
+        t.setSourceKind(SourceKind.EXTERNAL_URL);
+        t.setContentRef(Map.of("url", "https://example.com/v"));
+        a.addTask(t);
+        a = assignmentRepository.save(a);
+        assignmentId = a.getId();
+        taskId = a.getTasks().get(0).getId();
+    }
+
+    @Test
+    void heartbeats_are_coalesced_until_flush() {
+        taskProgressService.progressBuffered(taskId, studentId, new ProgressDto(30, Map.of("position", 30)));
+        taskProgressService.progressBuffered(taskId, studentId, new ProgressDto(60, Map.of("position", 60)));
+        taskProgressService.progressBuffered(taskId, studentId, new ProgressDto(50, Map.of("rate", 1.5)));
+
+        assertThat(taskRepository.findById(taskId).orElseThrow().getProgressPct()).isZero();
+
+        writeBehind.flushPending();
+
+        HomeworkTask task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(task.getStatus()).isEqualTo(HomeworkTaskStatus.IN_PROGRESS);
+        assertThat(task.getProgressPct()).isEqualTo(60);
+        assertThat(task.getMeta()).containsEntry("position", 60).containsEntry("rate", 1.5);
+
+        var counters = assignmentRepository.findCountersById(assignmentId);
+        assertThat(counters.getInProgressTasks()).isEqualTo(1);
+        assertThat(counters.getProgressSum()).isEqualTo(60);
+    }
+
+    @Test
+    void complete_flushes_buffered_pings_first() {
+        taskProgressService.progressBuffered(taskId, studentId, new ProgressDto(40, Map.of("position", 40)));
+        taskProgressService.complete(taskId, studentId, Map.of("done", true));
+
+        HomeworkTask task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(task.getStatus()).isEqualTo(HomeworkTaskStatus.COMPLETED);
+        assertThat(task.getMeta()).containsEntry("position", 40).containsEntry("done", true);
+
+        var counters = assignmentRepository.findCountersById(assignmentId);
+        assertThat(counters.getCompletedTasks()).isEqualTo(1);
+        assertThat(counters.getInProgressTasks()).isZero();
+        assertThat(counters.getProgressSum()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,74 @@
+package com.speakshire.homeworkservice;
+
+import liquibase.Liquibase;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaMigrationTests {
+
+    @Test
+    void changelog_adds_and_backfills_columns_missing_from_a_ddl_auto_schema() throws Exception {
+        var url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+        try (Connection conn = DriverManager.getConnection(url, "sa", "")) {
+            // homework_assignments as ddl-auto created it, before the task counters and past_due existed
+            try (var st = conn.createStatement()) {
+                st.execute("""
+                        create table homework_assignments (id uuid primary key, teacher_id uuid not null,
+                          student_id uuid not null, title varchar(255) not null, instructions varchar(1000000),
+                          due_at timestamp with time zone, lesson_id uuid, idempotency_key varchar(255),
+                          created_at timestamp with time zone not null, updated_at timestamp with time zone not null)""");
+                st.execute("""
+                        create table homework_tasks (id uuid primary key, assignment_id uuid not null,
+                          ordinal integer not null, type varchar(255) not null, title varchar(255) not null,
+                          instructions varchar(1000000), source_kind varchar(255) not null, content_ref json not null,
+                          status varchar(255) not null, progress_pct integer not null,
+                          started_at timestamp with time zone, completed_at timestamp with time zone,
+                          meta json not null, created_at timestamp with time zone not null,
+                          updated_at timestamp with time zone not null)""");
+                st.execute("""
+                        insert into homework_assignments values
+                          ('00000000-0000-0000-0000-000000000001', random_uuid(), random_uuid(), 'Past', null,
+                           current_timestamp - interval '1' day, null, null, current_timestamp, current_timestamp),
+                          ('00000000-0000-0000-0000-000000000002', random_uuid(), random_uuid(), 'Upcoming', null,
+                           current_timestamp + interval '1' day, null, null, current_timestamp, current_timestamp)""");
+                st.execute("""
+                        insert into homework_tasks values
+                          (random_uuid(), '00000000-0000-0000-0000-000000000001', 0, 'LINK', 'a', null, 'EXTERNAL_URL',
+                           '{}', 'COMPLETED', 100, null, null, '{}', current_timestamp, current_timestamp),
+                          (random_uuid(), '00000000-0000-0000-0000-000000000001', 1, 'LINK', 'b', null, 'EXTERNAL_URL',
+                           '{}', 'IN_PROGRESS', 40, null, null, '{}', current_timestamp, current_timestamp),
+                          (random_uuid(), '00000000-0000-0000-0000-000000000001', 2, 'LINK', 'c', null, 'EXTERNAL_URL',
+                           '{}', 'NOT_STARTED', 0, null, null, '{}', current_timestamp, current_timestamp)""");
+            }
+
+            var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(conn));
+            new Liquibase("db/changelog/db.changelog-master.yaml", new ClassLoaderResourceAccessor(), database)
+                    .update("");
+
+            try (var st = conn.createStatement();
+                 var rs = st.executeQuery("""
+                         select title, total_tasks, completed_tasks, in_progress_tasks, progress_sum, past_due
+                         from homework_assignments order by title""")) {
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getString(1)).isEqualTo("Past");
+                assertThat(rs.getInt(2)).isEqualTo(3);
+                assertThat(rs.getInt(3)).isEqualTo(1);
+                assertThat(rs.getInt(4)).isEqualTo(1);
+                assertThat(rs.getInt(5)).isEqualTo(140);
+                assertThat(rs.getBoolean(6)).isTrue();
+                assertThat(rs.next()).isTrue();
+                assertThat(rs.getString(1)).isEqualTo("Upcoming");
+                assertThat(rs.getInt(2)).isZero();
+                assertThat(rs.getBoolean(6)).isFalse();
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.*;
+import com.speakshire.homeworkservice.dto.BulkAssignmentResultDto;
+import com.speakshire.homeworkservice.dto.BulkCreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.BulkRecipientDto;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.dto.ProgressDto;
+import com.speakshire.homeworkservice.service.AssignmentCache;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the fetch plans of the assignment endpoints: the number of JDBC statements each service call
+ * prepares, as reported by Hibernate statistics.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementCountTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    AssignmentCache assignmentCache;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID teacherId;
+    private UUID studentId;
+    private UUID assignmentId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        teacherId = UUID.randomUUID();
+        studentId = UUID.randomUUID();
+        var created = homeworkService.createAssignment(teacherId, createDto("idem-" + UUID.randomUUID()));
+        assignmentId = created.id();
+        taskId = created.tasks().get(0).id();
+    }
+
+    private CreateAssignmentDto createDto(String idempotencyKey) {
+        return new CreateAssignmentDto(studentId, "Homework", null, null, null, idempotencyKey, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1,
+                        Map.of("url", "https://example.com/v"), null),
+                new CreateTaskDto(HomeworkTaskType.READING, SourceKind.MATERIAL, "Read", null, 2,
+                        Map.of("materialId", "m1"), null),
+                new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL, "Visit", null, 3,
+                        Map.of("url", "https://example.com/l"), null)));
+    }
+
+    private long statements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void get_by_id_loads_assignment_and_tasks_in_one_statement() {
+        // creation primed the cache; start cold to measure the query
+        assignmentCache.evict(assignmentId);
+        assertThat(statements(() -> homeworkService.getById(assignmentId))).isEqualTo(1);
+        // projected straight into DTOs, nothing enters the persistence context
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        // served from the assignment cache afterwards
+        assertThat(statements(() -> homeworkService.getById(assignmentId))).isZero();
+        assertThat(homeworkService.getById(assignmentId).tasks()).extracting("ordinal").containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void multi_get_loads_cache_misses_together_and_keeps_request_order() {
+        var second = homeworkService.createAssignment(teacherId, createDto(null)).id();
+        var third = homeworkService.createAssignment(teacherId, createDto(null)).id();
+        var unknown = UUID.randomUUID();
+        assignmentCache.evict(assignmentId);
+        assignmentCache.evict(third);
+        var ids = List.of(third, unknown, assignmentId, second, third);
+
+        // second is cached; the two misses share one statement, the unknown id one archive lookup
+        assertThat(statements(() -> homeworkService.getByIds(ids))).isEqualTo(2);
+        var batch = homeworkService.getByIds(ids);
+        assertThat(batch.assignments()).extracting("id").containsExactly(third, assignmentId, second);
+        assertThat(batch.assignments()).allSatisfy(a -> assertThat(a.tasks()).extracting("ordinal").containsExactly(1, 2, 3));
+        assertThat(batch.missing()).containsExactly(unknown);
+        assertThat(statements(() -> homeworkService.getByIds(List.of(assignmentId, second, third)))).isZero();
+    }
+
+    @Test
+    void task_writes_invalidate_the_cached_assignment() {
+        homeworkService.getById(assignmentId);
+        taskProgressService.progress(taskId, studentId, new ProgressDto(30, Map.of("position", 5)));
+        assertThat(statements(() -> homeworkService.getById(assignmentId))).isEqualTo(1);
+        var task = homeworkService.getById(assignmentId).tasks().stream()
+                .filter(t -> t.id().equals(taskId)).findFirst().orElseThrow();
+        assertThat(task.progressPct()).isEqualTo(30);
+        assertThat(task.meta()).containsEntry("position", 5);
+
+        homeworkService.deleteAssignment(assignmentId);
+        assertThat(homeworkService.getById(assignmentId)).isNull();
+    }
+
+    @Test
+    void idempotent_replay_is_a_single_lookup() {
+        var key = "replay-" + UUID.randomUUID();
+        homeworkService.createAssignment(teacherId, createDto(key));
+        assertThat(statements(() -> homeworkService.createAssignment(teacherId, createDto(key)))).isEqualTo(1);
+    }
+
+    @Test
+    void task_transitions_have_a_fixed_statement_budget() {
+        // lock task+assignment, load ordered tasks, update task, update counters (+ outbox insert on start/complete)
+        assertThat(statements(() -> taskProgressService.start(taskId, studentId))).isEqualTo(5);
+        assertThat(statements(() -> taskProgressService.progress(taskId, studentId, new ProgressDto(10, Map.of()))))
+                .isEqualTo(4);
+        // lock task+assignment, update task, update counters, read counters
+        assertThat(statements(() -> taskProgressService.progressDelta(taskId, studentId, new ProgressDto(20, Map.of()))))
+                .isEqualTo(4);
+        // complete also reads the counters back to detect the assignment becoming completed
+        assertThat(statements(() -> taskProgressService.complete(taskId, studentId, Map.of()))).isEqualTo(6);
+    }
+
+    @Test
+    void listing_and_counts_do_not_touch_tasks() {
+        // read-model row by primary key + one windowed count
+        assertThat(statements(() -> homeworkService.countStudentAssignments(studentId, null, null, true))).isEqualTo(2);
+        assertThat(statements(() -> homeworkService.seekStudentAssignments(studentId, "all", null, null,
+                true, false, "assigned_desc", "", 20))).isEqualTo(1);
+    }
+
+    @Test
+    void create_with_large_vocab_list_is_batched() {
+        var words = java.util.stream.Stream.generate(UUID::randomUUID).limit(300).toList();
+        var dto = new CreateAssignmentDto(studentId, "Vocab", null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VOCAB, SourceKind.VOCAB_LIST, "Words", null, 1, Map.of(), words)));
+        // one batched INSERT per table instead of one round trip per vocab row, plus the outbox event
+        // and the two student counts statements
+        assertThat(statements(() -> homeworkService.createAssignment(teacherId, dto))).isEqualTo(6);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(303);
+    }
+
+    @Test
+    void bulk_fan_out_uses_one_key_lookup_per_table_and_batched_inserts() {
+        var recipients = java.util.stream.IntStream.range(0, 30)
+                .mapToObj(i -> new BulkRecipientDto(UUID.randomUUID(), "bulk-" + i))
+                .toList();
+        var body = new BulkCreateAssignmentDto("Class homework", null, null, null, createDto(null).tasks(), recipients);
+
+        // key lookups in the hot table and the archive + one batched INSERT per table (assignments, tasks, outbox)
+        // + student counts for the whole chunk
+        assertThat(statements(() -> homeworkService.createAssignmentsBulk(teacherId, body))).isEqualTo(7);
+
+        var replay = homeworkService.createAssignmentsBulk(teacherId, body);
+        assertThat(replay).hasSize(30);
+        assertThat(replay).extracting(BulkAssignmentResultDto::status).containsOnly(BulkAssignmentResultDto.Status.EXISTING);
+        assertThat(replay.get(7).studentId()).isEqualTo(recipients.get(7).studentId());
+        assertThat(homeworkService.getById(replay.get(7).assignmentId()).tasks()).hasSize(3);
+    }
+}
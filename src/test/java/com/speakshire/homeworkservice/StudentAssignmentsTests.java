@@ -1,25 +1,36 @@
 package com.speakshire.homeworkservice;
 
 import com.speakshire.homeworkservice.domain.*;
+import com.speakshire.homeworkservice.dto.AssignmentDto;
 import com.speakshire.homeworkservice.dto.AssignmentListItemDto;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.dto.CursorPageDto;
+import com.speakshire.homeworkservice.dto.ProgressDto;
 import com.speakshire.homeworkservice.repository.HomeworkAssignmentRepository;
+import com.speakshire.homeworkservice.repository.StudentAssignmentCountsRepository;
 import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
 class StudentAssignmentsTests {
 
@@ -29,6 +40,15 @@ class StudentAssignmentsTests {
     @Autowired
     HomeworkAssignmentRepository assignmentRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    StudentAssignmentCountsRepository countsRepository;
+
     private UUID studentId;
 
     @BeforeEach
@@ -113,4 +133,195 @@ class StudentAssignmentsTests {
         assertThat(page.getContent()).extracting("title").containsExactly("A2");
         assertThat(page.getContent().get(0).overdue()).isTrue();
     }
+
+    @Test
+    void summary_listing_pages_are_full_and_totals_exact() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Page<AssignmentListItemDto> first = homeworkService.listStudentAssignments(
+                studentId,
+                "notFinished",
+                now.minusDays(7),
+                now.plusMinutes(1),
+                true,
+                true,
+                "due_asc",
+                PageRequest.of(0, 1)
+        );
+        assertThat(first.getContent()).extracting("title").containsExactly("A2");
+        assertThat(first.getTotalElements()).isEqualTo(2L);
+
+        Page<AssignmentListItemDto> second = homeworkService.listStudentAssignments(
+                studentId,
+                "notFinished",
+                now.minusDays(7),
+                now.plusMinutes(1),
+                true,
+                true,
+                "due_asc",
+                PageRequest.of(1, 1)
+        );
+        assertThat(second.getContent()).extracting("title").containsExactly("A1");
+    }
+
+    @Test
+    void counts_match_listing_totals_for_every_status() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        UUID teacherId = UUID.randomUUID();
+
+        // A4: no tasks yet, counts as not finished
+        HomeworkAssignment a4 = new HomeworkAssignment();
+        a4.setTeacherId(teacherId);
+        a4.setStudentId(studentId);
+        a4.setTitle("A4");
+        assignmentRepository.save(a4);
+
+        // A5: overdue and assigned long before the window
+        HomeworkAssignment a5 = new HomeworkAssignment();
+        a5.setTeacherId(teacherId);
+        a5.setStudentId(studentId);
+        a5.setTitle("A5");
+        a5.setDueAt(now.minusDays(20));
+        addTask(a5, 1, HomeworkTaskStatus.IN_PROGRESS, 10);
+        a5 = assignmentRepository.save(a5);
+
+        // A6: completed outside the window
+        HomeworkAssignment a6 = new HomeworkAssignment();
+        a6.setTeacherId(teacherId);
+        a6.setStudentId(studentId);
+        a6.setTitle("A6");
+        addTask(a6, 1, HomeworkTaskStatus.COMPLETED, 100);
+        a6 = assignmentRepository.save(a6);
+
+        jdbcTemplate.update("update homework_assignments set created_at = ? where id in (?, ?)",
+                now.minusDays(30), a5.getId(), a6.getId());
+
+        OffsetDateTime from = now.minusDays(7);
+        OffsetDateTime to = now.plusMinutes(1);
+        for (boolean includeOverdue : new boolean[]{true, false}) {
+            Map<String, Long> counts = homeworkService.countStudentAssignments(
+                    studentId, from.toString(), to.toString(), includeOverdue);
+
+            assertThat(counts.get("notFinished")).isEqualTo(total("notFinished", from, to, includeOverdue));
+            assertThat(counts.get("completed")).isEqualTo(total("completed", from, to, includeOverdue));
+            assertThat(counts.get("active")).isEqualTo(total("active", from, to, includeOverdue));
+            assertThat(counts.get("all")).isEqualTo(total("all", from, to, includeOverdue));
+            long overdue = homeworkService.listStudentAssignments(studentId, "notFinished", from, to,
+                            includeOverdue, true, "assigned_desc", PageRequest.of(0, 50))
+                    .stream().filter(AssignmentListItemDto::overdue).count();
+            assertThat(counts.get("overdue")).isEqualTo(overdue);
+        }
+
+        Map<String, Long> counts = homeworkService.countStudentAssignments(studentId, from.toString(), to.toString(), true);
+        assertThat(counts.get("notFinished")).isEqualTo(4L);
+        assertThat(counts.get("completed")).isEqualTo(1L);
+        assertThat(counts.get("overdue")).isEqualTo(2L);
+        assertThat(counts.get("active")).isEqualTo(4L);
+        assertThat(counts.get("all")).isEqualTo(4L);
+    }
+
+    private long total(String status, OffsetDateTime from, OffsetDateTime to, boolean includeOverdue) {
+        return homeworkService.listStudentAssignments(studentId, status, from, to, includeOverdue, true,
+                "assigned_desc", PageRequest.of(0, 1)).getTotalElements();
+    }
+
+    @Test
+    void task_transitions_keep_listing_counters_in_sync() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        AssignmentListItemDto a1 = homeworkService.listStudentAssignments(studentId, "all", now.minusDays(7),
+                now.plusMinutes(1), true, false, "due_desc", PageRequest.of(0, 1)).getContent().get(0);
+        assertThat(a1.title()).isEqualTo("A1");
+        assertThat(a1.inProgressTasks()).isEqualTo(1);
+
+        AssignmentDto dto = homeworkService.getById(a1.id());
+        UUID first = dto.tasks().get(0).id();
+        UUID second = dto.tasks().get(1).id();
+        taskProgressService.start(first, studentId);
+        taskProgressService.progress(first, studentId, new ProgressDto(40, Map.of()));
+        taskProgressService.complete(second, studentId, Map.of());
+
+        AssignmentListItemDto afterStart = homeworkService.listStudentAssignments(studentId, "all", now.minusDays(7),
+                now.plusMinutes(1), true, false, "due_desc", PageRequest.of(0, 1)).getContent().get(0);
+        assertThat(afterStart.completedTasks()).isEqualTo(1);
+        assertThat(afterStart.inProgressTasks()).isEqualTo(1);
+        assertThat(afterStart.completed()).isFalse();
+
+        taskProgressService.complete(first, studentId, Map.of());
+        AssignmentListItemDto done = homeworkService.listStudentAssignments(studentId, "completed", now.minusDays(7),
+                now.plusMinutes(1), true, false, "due_desc", PageRequest.of(0, 1)).getContent().get(0);
+        assertThat(done.id()).isEqualTo(a1.id());
+        assertThat(done.completedTasks()).isEqualTo(2);
+        assertThat(done.inProgressTasks()).isZero();
+        assertThat(done.completed()).isTrue();
+        assertThat(homeworkService.countStudentAssignments(studentId, null, null, true).get("notFinished")).isEqualTo(1L);
+    }
+
+    @Test
+    void keyset_pages_walk_the_same_rows_as_offset_paging() {
+        HomeworkAssignment noDue = new HomeworkAssignment();
+        noDue.setTeacherId(UUID.randomUUID());
+        noDue.setStudentId(studentId);
+        noDue.setTitle("A4");
+        addTask(noDue, 1, HomeworkTaskStatus.NOT_STARTED, 0);
+        assignmentRepository.save(noDue);
+
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        String from = now.minusDays(7).toString();
+        String to = now.plusMinutes(1).toString();
+        for (String sort : new String[]{"assigned_desc", "assigned_asc", "due_asc", "due_desc"}) {
+            var expected = homeworkService.listStudentAssignments(studentId, "all", from, to, true, false,
+                    sort, PageRequest.of(0, 50)).map(AssignmentListItemDto::id).getContent();
+
+            var seen = new java.util.ArrayList<UUID>();
+            String cursor = "";
+            do {
+                CursorPageDto<AssignmentListItemDto> page = homeworkService.seekStudentAssignments(
+                        studentId, "all", from, to, true, false, sort, cursor, 1);
+                page.items().forEach(i -> seen.add(i.id()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertThat(seen).as(sort).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void counts_read_model_follows_service_writes() {
+        UUID student = UUID.randomUUID();
+        UUID teacher = UUID.randomUUID();
+        var tasks = List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null),
+                new CreateTaskDto(HomeworkTaskType.READING, SourceKind.MATERIAL, "Read", null, 2, Map.of(), null));
+        OffsetDateTime yesterday = OffsetDateTime.now(ZoneOffset.UTC).minusDays(1);
+        AssignmentDto first = homeworkService.createAssignment(teacher,
+                new CreateAssignmentDto(student, "H1", null, null, null, null, tasks));
+        AssignmentDto second = homeworkService.createAssignment(teacher,
+                new CreateAssignmentDto(student, "H2", null, yesterday, null, null, tasks));
+        AssignmentDto third = homeworkService.createAssignment(teacher,
+                new CreateAssignmentDto(student, "H3", null, yesterday, null, null, tasks));
+        assertCounts(student, 3, 2);
+
+        taskProgressService.complete(first.tasks().get(0).id(), student, Map.of());
+        assertCounts(student, 3, 2);
+        taskProgressService.complete(first.tasks().get(1).id(), student, Map.of());
+        // completing an already completed task is not a second transition
+        taskProgressService.complete(first.tasks().get(1).id(), student, Map.of());
+        assertCounts(student, 2, 2);
+
+        homeworkService.deleteAssignment(first.id());
+        assertCounts(student, 2, 2);
+        taskProgressService.complete(second.tasks().get(0).id(), student, Map.of());
+        taskProgressService.complete(second.tasks().get(1).id(), student, Map.of());
+        assertCounts(student, 1, 1);
+        homeworkService.deleteAssignment(third.id());
+        assertCounts(student, 0, 0);
+    }
+
+    private void assertCounts(UUID student, int notFinished, int overdue) {
+        var row = countsRepository.findById(student).orElseThrow();
+        assertThat(row.getNotFinished()).isEqualTo(notFinished);
+        assertThat(row.getOverdue()).isEqualTo(overdue);
+        var counts = homeworkService.countStudentAssignments(student, null, null, true);
+        assertThat(counts.get("notFinished")).isEqualTo((long) notFinished);
+        assertThat(counts.get("overdue")).isEqualTo((long) overdue);
+    }
 }
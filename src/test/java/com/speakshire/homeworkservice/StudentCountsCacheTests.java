@@ -0,0 +1,49 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.service.StudentCountsCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentCountsCacheTests {
+
+    private final StudentCountsCache cache = new StudentCountsCache(new SimpleMeterRegistry(), true, 100,
+            Duration.ofMinutes(1));
+
+    @Test
+    void a_write_for_one_student_does_not_block_cache_fills_for_others() {
+        var student = UUID.randomUUID();
+        var other = UUID.randomUUID();
+        var loads = new AtomicInteger();
+
+        cache.get(student, "week", () -> {
+            loads.incrementAndGet();
+            cache.evict(other);
+            return Map.of("all", 1L);
+        });
+        assertThat(cache.get(student, "week", () -> {
+            loads.incrementAndGet();
+            return Map.of("all", 2L);
+        })).containsEntry("all", 1L);
+        assertThat(loads).hasValue(1);
+
+        // the student's own write during the load keeps the result out of the cache
+        cache.evict(student);
+        cache.get(student, "week", () -> {
+            loads.incrementAndGet();
+            cache.evict(student);
+            return Map.of("all", 3L);
+        });
+        assertThat(cache.get(student, "week", () -> {
+            loads.incrementAndGet();
+            return Map.of("all", 4L);
+        })).containsEntry("all", 4L);
+        assertThat(loads).hasValue(3);
+    }
+}
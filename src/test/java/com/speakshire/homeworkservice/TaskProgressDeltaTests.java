@@ -0,0 +1,85 @@
+package com.speakshire.homeworkservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.dto.ProgressDto;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TaskProgressDeltaTests {
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Autowired
+    TaskProgressService taskProgressService;
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void delta_view_returns_only_the_changed_task_and_the_assignment_counters() throws Exception {
+        var studentId = UUID.randomUUID();
+        var created = homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(studentId, "Homework",
+                null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null),
+                new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL, "Visit", null, 2, Map.of(), null),
+                new CreateTaskDto(HomeworkTaskType.READING, SourceKind.MATERIAL, "Read", null, 3, Map.of(), null))));
+        var first = created.tasks().get(0).id();
+        var second = created.tasks().get(1).id();
+        taskProgressService.complete(second, studentId, Map.of());
+
+        var response = rest.postForEntity("/api/homeworks/tasks/{taskId}/progress?studentId={studentId}&view=delta",
+                new ProgressDto(40, Map.of("position", 12)), String.class, first, studentId);
+        assertThat(response.getStatusCode().is2xxSuccessful()).isTrue();
+
+        JsonNode body = objectMapper.readTree(response.getBody());
+        // no tasks array and no assignment fields beyond the counters
+        assertThat(body.fieldNames()).toIterable().containsExactlyInAnyOrder("assignmentId", "task", "totalTasks",
+                "completedTasks", "inProgressTasks", "progressPct", "completed");
+        assertThat(body.get("assignmentId").asText()).isEqualTo(created.id().toString());
+        assertThat(body.get("task").get("id").asText()).isEqualTo(first.toString());
+        assertThat(body.get("task").get("status").asText()).isEqualTo("IN_PROGRESS");
+        assertThat(body.get("task").get("progressPct").asInt()).isEqualTo(40);
+        assertThat(body.get("task").get("meta").get("position").asInt()).isEqualTo(12);
+        assertThat(body.get("totalTasks").asInt()).isEqualTo(3);
+        assertThat(body.get("completedTasks").asInt()).isEqualTo(1);
+        assertThat(body.get("inProgressTasks").asInt()).isEqualTo(1);
+        assertThat(body.get("progressPct").asInt()).isEqualTo(33);
+        assertThat(body.get("completed").asBoolean()).isFalse();
+    }
+
+    @Test
+    void delta_view_and_buffered_together_are_a_bad_request() {
+        var studentId = UUID.randomUUID();
+        var created = homeworkService.createAssignment(UUID.randomUUID(), new CreateAssignmentDto(studentId, "Homework",
+                null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.EXTERNAL_URL, "Watch", null, 1, Map.of(), null))));
+
+        var response = rest.postForEntity(
+                "/api/homeworks/tasks/{taskId}/progress?studentId={studentId}&view=delta&buffered=true",
+                new ProgressDto(40, Map.of()), String.class, created.tasks().get(0).id(), studentId);
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(response.getBody()).contains("BAD_REQUEST");
+    }
+}
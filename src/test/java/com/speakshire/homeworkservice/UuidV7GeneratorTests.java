@@ -0,0 +1,45 @@
+package com.speakshire.homeworkservice;
+
+import com.speakshire.homeworkservice.domain.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTests {
+
+    @Test
+    void keys_are_version_7_and_carry_the_current_time() {
+        long before = System.currentTimeMillis();
+        var id = UuidV7Generator.next();
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void keys_increase_in_database_uuid_order() {
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 50_000; i++) ids.add(UuidV7Generator.next());
+        // PostgreSQL and H2 compare uuids as unsigned bytes, i.e. by their string form
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+
+    @Test
+    void concurrent_callers_never_collide() throws Exception {
+        var seen = ConcurrentHashMap.<UUID>newKeySet();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 16).forEach(t -> executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) seen.add(UuidV7Generator.next());
+            }));
+        }
+        assertThat(seen).hasSize(160_000);
+    }
+}
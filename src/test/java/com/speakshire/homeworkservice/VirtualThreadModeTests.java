@@ -0,0 +1,61 @@
+package com.speakshire.homeworkservice;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "homework.diagnostics.pinning.enabled=true",
+        "homework.diagnostics.pinning.threshold=PT0.01S"
+})
+@ActiveProfiles("test")
+class VirtualThreadModeTests {
+
+    @Autowired
+    AsyncTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    TestRestTemplate rest;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private final Object monitor = new Object();
+
+    @Test
+    void async_work_runs_on_virtual_threads_and_requests_are_served() throws Exception {
+        assertThat(applicationTaskExecutor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+        var counts = rest.getForEntity("/api/homeworks/student/{id}/counts", String.class, UUID.randomUUID());
+        assertThat(counts.getStatusCode().is2xxSuccessful()).isTrue();
+    }
+
+    @Test
+    void pinning_inside_synchronized_is_reported() throws Exception {
+        var pinned = meterRegistry.get("homework.virtual_threads.pinned").timer();
+        long before = pinned.count();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pinned.count() == before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinned.count()).isGreaterThan(before);
+    }
+}
@@ -0,0 +1,69 @@
+package com.speakshire.homeworkservice.benchmark;
+
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Assignment creation latency against the size of a VOCAB task's word list.
+ * Runs on the test profile (H2) by default; point spring.datasource.* at PostgreSQL for real numbers:
+ * mvn test -Pbenchmark -Dtest=AssignmentCreateBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class AssignmentCreateBenchmark {
+
+    private static final int[] VOCAB_SIZES = {0, 10, 50, 100, 300, 1000};
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+
+    @Autowired
+    HomeworkService homeworkService;
+
+    @Test
+    void insert_latency_by_vocab_list_size() {
+        UUID teacherId = UUID.randomUUID();
+        System.out.printf("%n%-10s %10s %10s %10s%n", "vocab", "p50 ms", "p99 ms", "mean ms");
+        for (int size : VOCAB_SIZES) {
+            for (int i = 0; i < WARMUP; i++) {
+                homeworkService.createAssignment(teacherId, vocabAssignment(size));
+            }
+            long[] nanos = new long[ITERATIONS];
+            for (int i = 0; i < ITERATIONS; i++) {
+                var dto = vocabAssignment(size);
+                long start = System.nanoTime();
+                homeworkService.createAssignment(teacherId, dto);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%-10d %10.2f %10.2f %10.2f%n", size,
+                    ms(nanos[nanos.length / 2]),
+                    ms(nanos[(int) Math.ceil(nanos.length * 0.99) - 1]),
+                    ms((long) Arrays.stream(nanos).average().orElse(0)));
+        }
+    }
+
+    private CreateAssignmentDto vocabAssignment(int words) {
+        var wordIds = Stream.generate(UUID::randomUUID).limit(words).toList();
+        return new CreateAssignmentDto(UUID.randomUUID(), "Vocab", null, null, null, null, List.of(
+                new CreateTaskDto(HomeworkTaskType.VOCAB, SourceKind.VOCAB_LIST, "Words", null, 1, Map.of(), wordIds)));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
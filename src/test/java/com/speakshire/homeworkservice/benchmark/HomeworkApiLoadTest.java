@@ -0,0 +1,259 @@
+package com.speakshire.homeworkservice.benchmark;
+
+import com.speakshire.homeworkservice.HomeworkServiceApplication;
+import com.speakshire.homeworkservice.domain.HomeworkTaskType;
+import com.speakshire.homeworkservice.domain.SourceKind;
+import com.speakshire.homeworkservice.dto.CreateAssignmentDto;
+import com.speakshire.homeworkservice.dto.CreateTaskDto;
+import com.speakshire.homeworkservice.service.HomeworkService;
+import com.speakshire.homeworkservice.service.TaskProgressService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test of the HTTP API: boots the application on a random port against an in-memory H2
+ * (PostgreSQL mode), seeds teachers, students and assignments, then drives a weighted mix of list, counts,
+ * get and progress-heartbeat requests from concurrent clients and reports p50/p99 latency and throughput
+ * per endpoint. The whole run is repeated per request-thread mode (platform and virtual threads).
+ * <p>
+ * mvn test -Ploadtest [-Dloadtest.seconds=30 -Dloadtest.concurrency=64 -Dloadtest.modes=virtual
+ * -Dloadtest.mix=list=50,counts=20,get=20,progress=10]
+ */
+@Tag("loadtest")
+class HomeworkApiLoadTest {
+
+    private static final int TEACHERS = Integer.getInteger("loadtest.teachers", 20);
+    private static final int STUDENTS = Integer.getInteger("loadtest.students", 300);
+    private static final int ASSIGNMENTS_PER_STUDENT = Integer.getInteger("loadtest.assignments-per-student", 10);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 5);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 20);
+    private static final String MODES = System.getProperty("loadtest.modes", "platform,virtual");
+    private static final String MIX = System.getProperty("loadtest.mix", "list=35,tutor=10,counts=20,get=20,progress=15");
+
+    enum Op {
+        LIST, TUTOR, COUNTS, GET, PROGRESS
+    }
+
+    private record Seeded(UUID teacherId, UUID studentId, UUID assignmentId, List<UUID> taskIds) {}
+
+    private record Result(String mode, Map<Op, long[]> latencies, Map<Op, Integer> errors) {}
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void api_latency_under_mixed_load() throws Exception {
+        var mix = parseMix(MIX);
+        var results = new ArrayList<Result>();
+        for (String mode : MODES.split(",")) {
+            results.add(run(mode.trim(), mix));
+        }
+        for (var result : results) {
+            report(result);
+        }
+        if (results.size() > 1) compare(results);
+        for (var result : results) {
+            assertThat(result.errors().values()).as("failed requests in %s mode", result.mode()).containsOnly(0);
+        }
+    }
+
+    private Result run(String mode, Map<Op, Integer> mix) throws Exception {
+        try (var app = start(mode)) {
+            var seeded = seed(app);
+            String base = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+            return drive(mode, base, seeded, mix);
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode) {
+        return new SpringApplicationBuilder(HomeworkServiceApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                        // a database of its own per mode, so both runs start from the same volumes
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest_" + mode
+                                + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.root=WARN");
+    }
+
+    // Round-robin teachers; every fourth assignment already past due, every third with its first task done
+    private List<Seeded> seed(ConfigurableApplicationContext app) {
+        var homeworkService = app.getBean(HomeworkService.class);
+        var taskProgressService = app.getBean(TaskProgressService.class);
+        var teachers = Stream.generate(UUID::randomUUID).limit(TEACHERS).toList();
+        var now = OffsetDateTime.now();
+        var seeded = new ArrayList<Seeded>(STUDENTS * ASSIGNMENTS_PER_STUDENT);
+        long start = System.nanoTime();
+        for (int s = 0; s < STUDENTS; s++) {
+            var studentId = UUID.randomUUID();
+            for (int i = 0; i < ASSIGNMENTS_PER_STUDENT; i++) {
+                var teacherId = teachers.get((s + i) % TEACHERS);
+                var dueAt = i % 4 == 0 ? now.minusDays(2) : now.plusDays(1 + i % 7);
+                var created = homeworkService.createAssignment(teacherId, new CreateAssignmentDto(
+                        studentId, "Homework " + i, "Do all tasks", dueAt, null, null, tasks()));
+                var taskIds = created.tasks().stream().map(t -> t.id()).toList();
+                if (i % 3 == 0) taskProgressService.complete(taskIds.get(0), studentId, Map.of());
+                seeded.add(new Seeded(teacherId, studentId, created.id(), taskIds));
+            }
+        }
+        System.out.printf("%nseeded %d assignments for %d students and %d teachers in %.1f s%n",
+                seeded.size(), STUDENTS, TEACHERS, (System.nanoTime() - start) / 1e9);
+        return seeded;
+    }
+
+    private static List<CreateTaskDto> tasks() {
+        return List.of(
+                new CreateTaskDto(HomeworkTaskType.VIDEO, SourceKind.LESSON_CONTENT, "Watch", null, 1,
+                        Map.of("lessonId", UUID.randomUUID().toString(), "url", "https://cdn.example.com/v.m3u8",
+                                "durationSec", 420), null),
+                new CreateTaskDto(HomeworkTaskType.READING, SourceKind.MATERIAL, "Read", null, 2,
+                        Map.of("materialId", UUID.randomUUID().toString()), null),
+                new CreateTaskDto(HomeworkTaskType.LINK, SourceKind.EXTERNAL_URL, "Visit", null, 3,
+                        Map.of("url", "https://example.com/l"), null));
+    }
+
+    private Result drive(String mode, String base, List<Seeded> seeded, Map<Op, Integer> mix) throws Exception {
+        var ops = new ArrayList<Op>();
+        mix.forEach((op, weight) -> ops.addAll(Collections.nCopies(weight, op)));
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(SECONDS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        var workers = new ArrayList<Future<Worker>>();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.add(clients.submit(() -> {
+                var worker = new Worker();
+                var random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < stopAt) {
+                    var op = ops.get(random.nextInt(ops.size()));
+                    var request = request(op, base, seeded.get(random.nextInt(seeded.size())), random);
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    long took = System.nanoTime() - now;
+                    if (now >= measureFrom) worker.record(op, took, status);
+                }
+                return worker;
+            }));
+        }
+        var latencies = new EnumMap<Op, long[]>(Op.class);
+        var errors = new EnumMap<Op, Integer>(Op.class);
+        for (var future : workers) {
+            var worker = future.get();
+            worker.samples.forEach((op, list) -> latencies.merge(op, list.stream().mapToLong(Long::longValue).toArray(),
+                    (a, b) -> {
+                        var merged = Arrays.copyOf(a, a.length + b.length);
+                        System.arraycopy(b, 0, merged, a.length, b.length);
+                        return merged;
+                    }));
+            worker.errors.forEach((op, n) -> errors.merge(op, n, Integer::sum));
+        }
+        clients.shutdown();
+        for (var op : mix.keySet()) errors.putIfAbsent(op, 0);
+        return new Result(mode, latencies, errors);
+    }
+
+    private static HttpRequest request(Op op, String base, Seeded target, ThreadLocalRandom random) {
+        String[] statuses = {"all", "active", "notFinished", "completed"};
+        return switch (op) {
+            case LIST -> get(base + "/api/homeworks/student/" + target.studentId()
+                    + "?status=" + statuses[random.nextInt(statuses.length)] + "&size=20");
+            case TUTOR -> get(base + "/api/homeworks/tutor/" + target.teacherId() + "?status=active&size=20");
+            case COUNTS -> get(base + "/api/homeworks/student/" + target.studentId() + "/counts?includeOverdue=true");
+            case GET -> get(base + "/api/homeworks/" + target.assignmentId());
+            case PROGRESS -> HttpRequest.newBuilder(URI.create(base + "/api/homeworks/tasks/"
+                            + target.taskIds().get(1 + random.nextInt(2)) + "/progress?buffered=true&studentId=" + target.studentId()))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"progressPct\":" + random.nextInt(1, 100)
+                            + ",\"meta\":{\"position\":" + random.nextInt(600) + "}}"))
+                    .build();
+        };
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    private static final class Worker {
+        final Map<Op, List<Long>> samples = new EnumMap<>(Op.class);
+        final Map<Op, Integer> errors = new EnumMap<>(Op.class);
+
+        void record(Op op, long nanos, int status) {
+            samples.computeIfAbsent(op, o -> new ArrayList<>()).add(nanos);
+            if (status >= 400) errors.merge(op, 1, Integer::sum);
+        }
+    }
+
+    private static Map<Op, Integer> parseMix(String mix) {
+        var weights = new LinkedHashMap<Op, Integer>();
+        for (String entry : mix.split(",")) {
+            var parts = entry.split("=");
+            weights.put(Op.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static void report(Result result) {
+        System.out.printf("%n%s threads, %d clients, %d s%n", result.mode(), CONCURRENCY, SECONDS);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s", "p50 ms", "p99 ms",
+                "max ms", "errors");
+        long total = 0;
+        for (var e : result.latencies().entrySet()) {
+            long[] nanos = e.getValue();
+            Arrays.sort(nanos);
+            total += nanos.length;
+            System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %8d%n", e.getKey().name().toLowerCase(),
+                    nanos.length, nanos.length / (double) SECONDS, ms(percentile(nanos, 0.50)),
+                    ms(percentile(nanos, 0.99)), ms(nanos[nanos.length - 1]), result.errors().get(e.getKey()));
+        }
+        System.out.printf("%-10s %10d %10.1f%n", "total", total, total / (double) SECONDS);
+    }
+
+    private static void compare(List<Result> results) {
+        System.out.printf("%n%-10s", "p99 ms");
+        for (var result : results) System.out.printf(" %10s", result.mode());
+        System.out.println();
+        for (var op : Op.values()) {
+            if (!results.get(0).latencies().containsKey(op)) continue;
+            System.out.printf("%-10s", op.name().toLowerCase());
+            for (var result : results) {
+                var nanos = result.latencies().get(op);
+                System.out.printf(" %10.2f", nanos == null ? Double.NaN : ms(percentile(nanos, 0.99)));
+            }
+            System.out.println();
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.max(0, (int) Math.ceil(sorted.length * p) - 1)];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
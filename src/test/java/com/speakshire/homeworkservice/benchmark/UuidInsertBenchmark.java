@@ -0,0 +1,91 @@
+package com.speakshire.homeworkservice.benchmark;
+
+import com.speakshire.homeworkservice.domain.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and index size for random (v4) versus time-ordered (v7) primary keys. Each run fills a
+ * scratch table shaped like homework_tasks: a uuid primary key plus an index on the parent assignment id,
+ * five children per parent, parent ids drawn from the same strategy.
+ * Runs on the test profile (H2) by default; point spring.datasource.* at PostgreSQL for index sizes
+ * (pg_relation_size) that reflect page splits: mvn test -Pbenchmark -Dtest=UuidInsertBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class UuidInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 200_000);
+    private static final int BATCH = 1_000;
+    private static final int CHILDREN_PER_PARENT = 5;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void insert_throughput_and_index_size_by_key_strategy() {
+        boolean postgres = isPostgres();
+        System.out.printf("%n%-6s %10s %12s %14s %14s%n", "keys", "rows", "rows/s", "pkey MB", "parent idx MB");
+        run("v4", UUID::randomUUID, postgres);
+        run("v7", UuidV7Generator::next, postgres);
+        // once more, so neither strategy pays for JIT warm-up alone
+        run("v4", UUID::randomUUID, postgres);
+        run("v7", UuidV7Generator::next, postgres);
+    }
+
+    private void run(String name, Supplier<UUID> ids, boolean postgres) {
+        String table = "bench_keys_" + name;
+        jdbc.execute("drop table if exists " + table);
+        jdbc.execute("create table " + table + " (id uuid primary key, parent_id uuid not null, ordinal int not null)");
+        jdbc.execute("create index idx_" + table + "_parent on " + table + " (parent_id)");
+
+        long start = System.nanoTime();
+        UUID parent = null;
+        var batch = new ArrayList<Object[]>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            if (i % CHILDREN_PER_PARENT == 0) parent = ids.get();
+            batch.add(new Object[]{ids.get(), parent, i % CHILDREN_PER_PARENT});
+            if (batch.size() == BATCH) flush(table, batch);
+        }
+        if (!batch.isEmpty()) flush(table, batch);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (postgres) {
+            jdbc.execute("analyze " + table);
+            System.out.printf("%-6s %10d %12.0f %14.2f %14.2f%n", name, ROWS, ROWS / seconds,
+                    mb(relationSize(table + "_pkey")), mb(relationSize("idx_" + table + "_parent")));
+        } else {
+            System.out.printf("%-6s %10d %12.0f %14s %14s%n", name, ROWS, ROWS / seconds, "n/a", "n/a");
+        }
+        jdbc.execute("drop table " + table);
+    }
+
+    private void flush(String table, List<Object[]> batch) {
+        jdbc.batchUpdate("insert into " + table + " (id, parent_id, ordinal) values (?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private boolean isPostgres() {
+        return Boolean.TRUE.equals(jdbc.execute((Connection c) ->
+                c.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")));
+    }
+
+    private long relationSize(String relation) {
+        return jdbc.queryForObject("select pg_relation_size(?::regclass)", Long.class, relation);
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}